@@ -1,13 +1,15 @@
 import os
 import re
 import json
+from typing import Optional
 import google.generativeai as genai
 from fastapi import FastAPI, HTTPException, Depends
+from fastapi.responses import StreamingResponse
 from pydantic import BaseModel
 from dotenv import load_dotenv
 from sqlalchemy.orm import Session
-from prompts import construct_prompt
-from database import engine, get_db
+from prompts import construct_prompt, construct_segment_prompt
+from database import engine, get_db, SessionLocal
 import models
 
 # 1. 환경 변수 로드 및 설정
@@ -29,6 +31,11 @@ class PromptRequest(BaseModel):
     title: str
     record: str  # record(회의록)
 
+class SegmentRequest(BaseModel):
+    title: Optional[str] = None
+    record: str  # 회의록의 한 구간
+    index: Optional[int] = None  # 구간 번호 (0부터)
+
 # 6. 서버 내부 상수
 INTERNAL_INSTRUCTION = "우리는 지금 초기 기획에서 개발로 넘어가는 단계야. 개발에 대해서 기획에서 빠진게 있는지 꼼꼼하게 찾아줘. 답변이 길어지더라도 절대 중간에 끊지 말고 끝까지 출력해."
 GENERATION_CONFIG = genai.types.GenerationConfig(
@@ -37,6 +44,13 @@ GENERATION_CONFIG = genai.types.GenerationConfig(
     top_p=0.95,
     top_k=64,
 )
+# 구간 요약(map 단계)은 다음 reduce 입력에 들어가므로 짧고 사실 위주로 생성
+SEGMENT_GENERATION_CONFIG = genai.types.GenerationConfig(
+    temperature=0.3,
+    max_output_tokens=1024,
+    top_p=0.95,
+    top_k=64,
+)
 
 # [Helper] AI 응답 파싱 함수
 def parse_ai_response(text: str) -> dict:
@@ -77,6 +91,113 @@ def parse_ai_response(text: str) -> dict:
         
     return parsed
 
+# [Helper] 파싱 결과를 3단 계층 구조(Meeting -> Works -> TaskList)로 DB에 저장하고 meeting id 반환
+def save_generated_meeting(db: Session, record: str, parsed_data: dict) -> int:
+    # (1) Meeting 저장 (본문은 meeting_content 에 따로 저장)
+    db_meeting = models.Meeting(
+        title=parsed_data["title"]
+    )
+    db.add(db_meeting)
+    db.flush() # meeting_id 생성됨
+
+    db.add(models.MeetingContent(
+        meeting_id=db_meeting.id,
+        record=record,
+        script=parsed_data["summary"]
+    ))
+    db.commit()
+    db.refresh(db_meeting)
+
+    # (2) Works & TaskList 저장 Loop
+    wbs_data = parsed_data["wbs"] or {"works": [], "general_tasks": []}
+
+    # 스택 이름(소문자) -> stack id. 등록되지 않은 스택 이름은 무시
+    stack_ids = {name.strip().lower(): sid for sid, name in db.query(models.Stack.id, models.Stack.stack_name).all()}
+
+    # [A] Works 처리
+    for i, work_item in enumerate(wbs_data.get("works", [])):
+        # Works 저장
+        db_work = models.Works(
+            field=work_item.get("field", "Unknown"),
+            title=work_item.get("title", "Untitled Work"),
+            level=work_item.get("level", 1), # 기본값 1 (하)
+            works_order=i + 1
+        )
+        db.add(db_work)
+        db.commit()
+        db.refresh(db_work) # works_id 생성됨
+
+        # Works 에 필요한 기술 스택 저장 (중복 제거)
+        matched = {stack_ids.get(str(name).strip().lower()) for name in work_item.get("stacks", []) or []}
+        for stack_id in matched - {None}:
+            db.add(models.WorksStack(works_id=db_work.id, stack_id=stack_id))
+
+        # Task List 저장 (Works 소속)
+        tasks = work_item.get("tasks", [])
+        for j, task_title in enumerate(tasks):
+            db_task = models.TaskList(
+                meeting_id=db_meeting.id,  # 외래키 연결
+                works_id=db_work.id,       # 외래키 연결
+                title=task_title,
+                task_order=j + 1
+            )
+            db.add(db_task)
+
+    # [B] General Tasks 처리 (Works 없음)
+    for k, general_task_title in enumerate(wbs_data.get("general_tasks", [])):
+        db_gen_task = models.TaskList(
+            meeting_id=db_meeting.id,
+            works_id=None, # Works 없음
+            title=general_task_title,
+            task_order=k + 1
+        )
+        db.add(db_gen_task)
+
+    db.commit() # Tasks 일괄 커밋
+    return db_meeting.id
+
+# [Helper] 스트리밍 응답에서 <summary>...</summary> 사이 텍스트만 골라낸다.
+# 태그가 chunk 경계에서 잘려 들어와도 처리할 수 있도록 태그 일부일 수 있는 끝부분은 다음 chunk 까지 보류한다.
+class SummaryTokenFilter:
+    OPEN = "<summary>"
+    CLOSE = "</summary>"
+
+    def __init__(self):
+        self.buffer = ""
+        self.state = "before"  # before -> inside -> after
+
+    def feed(self, text: str) -> str:
+        self.buffer += text
+
+        if self.state == "before":
+            idx = self.buffer.find(self.OPEN)
+            if idx < 0:
+                self.buffer = self.buffer[-(len(self.OPEN) - 1):]
+                return ""
+            self.buffer = self.buffer[idx + len(self.OPEN):]
+            self.state = "inside"
+
+        if self.state == "inside":
+            idx = self.buffer.find(self.CLOSE)
+            if idx >= 0:
+                token = self.buffer[:idx]
+                self.buffer = ""
+                self.state = "after"
+                return token
+
+            safe = len(self.buffer)
+            lt = self.buffer.rfind("<", max(0, len(self.buffer) - (len(self.CLOSE) - 1)))
+            if lt >= 0 and self.CLOSE.startswith(self.buffer[lt:]):
+                safe = lt
+            token = self.buffer[:safe]
+            self.buffer = self.buffer[safe:]
+            return token
+
+        return ""
+
+def sse_event(event: str, data: dict) -> str:
+    return f"event: {event}\ndata: {json.dumps(data, ensure_ascii=False)}\n\n"
+
 # 7. 텍스트 생성 엔드포인트
 @app.post("/generate")
 async def generate_content(request: PromptRequest, db: Session = Depends(get_db)):
@@ -102,64 +223,96 @@ async def generate_content(request: PromptRequest, db: Session = Depends(get_db)
         parsed_data = parse_ai_response(generated_text)
 
         # 3. DB 저장 로직 (계층 구조)
-        
-        # (1) Meeting 저장
-        db_meeting = models.Meeting(
-            record=request.record,
-            script=parsed_data["summary"],
-            title=parsed_data["title"]
-        )
-        db.add(db_meeting)
-        db.commit()
-        db.refresh(db_meeting) # meeting_id 생성됨
-        
-        # (2) Works & TaskList 저장 Loop
-        wbs_data = parsed_data["wbs"]
-        
-        # [A] Works 처리
-        for i, work_item in enumerate(wbs_data.get("works", [])):
-            # Works 저장
-            db_work = models.Works(
-                field=work_item.get("field", "Unknown"),
-                title=work_item.get("title", "Untitled Work"),
-                level=work_item.get("level", 1), # 기본값 1 (하)
-                works_order=i + 1
-            )
-            db.add(db_work)
-            db.commit()
-            db.refresh(db_work) # works_id 생성됨
-            
-            # Task List 저장 (Works 소속)
-            tasks = work_item.get("tasks", [])
-            for j, task_title in enumerate(tasks):
-                db_task = models.TaskList(
-                    meeting_id=db_meeting.id,  # 외래키 연결
-                    works_id=db_work.id,       # 외래키 연결
-                    title=task_title,
-                    task_order=j + 1
-                )
-                db.add(db_task)
-        
-        # [B] General Tasks 처리 (Works 없음)
-        for k, general_task_title in enumerate(wbs_data.get("general_tasks", [])):
-            db_gen_task = models.TaskList(
-                meeting_id=db_meeting.id,
-                works_id=None, # Works 없음
-                title=general_task_title,
-                task_order=k + 1
-            )
-            db.add(db_gen_task)
-
-        db.commit() # Tasks 일괄 커밋
+        meeting_id = save_generated_meeting(db, request.record, parsed_data)
 
         # 4. 결과 반환 (Simplified Response)
         return {
             "message": "meeting script successfully exported to notion",
             "data": {
-                "meetingid": db_meeting.id
+                "meetingid": meeting_id
+            }
+        }
+
+    except Exception as e:
+        raise HTTPException(status_code=500, detail=str(e))
+
+# 8. 스트리밍 생성 엔드포인트 (SSE)
+@app.post("/generate/stream")
+async def generate_content_stream(request: PromptRequest):
+    """
+    /generate 와 같은 분석을 하되, 요약(<summary>) 텍스트를 생성되는 대로 SSE 로 흘려보냅니다.
+    - event: token  data: {"text": "..."}
+    - event: done   data: {"meetingid": 123}   (스트림이 끝난 뒤 DB 저장 완료)
+    - event: error  data: {"detail": "..."}
+    """
+    final_prompt = construct_prompt(request.record, INTERNAL_INSTRUCTION)
+
+    async def event_stream():
+        chunks = []
+        summary_filter = SummaryTokenFilter()
+        # 스트림이 끝날 때까지 세션을 직접 관리 (응답 이후에도 저장이 이어지므로)
+        db = SessionLocal()
+        try:
+            response = await model.generate_content_async(
+                final_prompt,
+                generation_config=GENERATION_CONFIG,
+                stream=True
+            )
+            async for chunk in response:
+                try:
+                    text = chunk.text
+                except ValueError:
+                    continue
+                chunks.append(text)
+                token = summary_filter.feed(text)
+                if token:
+                    yield sse_event("token", {"text": token})
+
+            parsed_data = parse_ai_response("".join(chunks))
+            meeting_id = save_generated_meeting(db, request.record, parsed_data)
+            yield sse_event("done", {"meetingid": meeting_id})
+        except Exception as e:
+            db.rollback()
+            yield sse_event("error", {"detail": str(e)})
+        finally:
+            db.close()
+
+    return StreamingResponse(
+        event_stream(),
+        media_type="text/event-stream",
+        headers={"Cache-Control": "no-cache", "X-Accel-Buffering": "no"}
+    )
+
+# 9. 구간 요약 엔드포인트 (긴 회의록 map 단계)
+@app.post("/summarize")
+async def summarize_segment(request: SegmentRequest):
+    """
+    긴 회의록의 한 구간을 요약해서 돌려줍니다. DB 에는 저장하지 않습니다.
+    BE 가 구간 요약들을 이어 붙여 /generate 로 다시 보내면(reduce 단계) 최종 보고서가 저장됩니다.
+    """
+    try:
+        final_prompt = construct_segment_prompt(request.record, request.title, request.index)
+
+        response = await model.generate_content_async(
+            final_prompt,
+            generation_config=SEGMENT_GENERATION_CONFIG
+        )
+
+        try:
+            summary = response.text.strip()
+        except ValueError:
+            raise HTTPException(status_code=502, detail="구간 요약 생성 실패")
+
+        return {
+            "message": "meeting segment successfully summarized",
+            "data": {
+                "index": request.index,
+                "summary": summary
             }
         }
 
+    except HTTPException:
+        raise
     except Exception as e:
         raise HTTPException(status_code=500, detail=str(e))
 
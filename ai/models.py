@@ -1,5 +1,5 @@
 
-from sqlalchemy import Column, Integer, Text, DateTime, ForeignKey
+from sqlalchemy import Column, Integer, String, Text, DateTime, ForeignKey
 from sqlalchemy.sql import func
 from database import Base
 
@@ -10,9 +10,17 @@ class Meeting(Base):
     __tablename__ = "meeting"
 
     id = Column(Integer, primary_key=True, index=True)
-    record = Column(Text, nullable=True)  # request에서 받은 회의록 원본
-    script = Column(Text, nullable=True)  # LLM이 생성한 요약본 (<summary> 내용)
     title = Column(Text, nullable=True)   # LLM이 생성한 제목 (<title> 내용)
+    content_hash = Column(String(64), nullable=True, index=True)  # BE 가 업로드 완료 후 기록 (재업로드 판별용)
+
+
+# 1-1. 회의록 본문 테이블 (meeting 과 1:1, 큰 텍스트는 meeting 행과 분리해서 저장)
+class MeetingContent(Base):
+    __tablename__ = "meeting_content"
+
+    meeting_id = Column(Integer, ForeignKey("meeting.id"), primary_key=True)  # meeting 테이블의 id
+    record = Column(Text, nullable=False)  # request에서 받은 회의록 원본
+    script = Column(Text, nullable=False)  # LLM이 생성한 요약본 (<summary> 내용)
 
 
 # 2. Works 테이블 (대분류)
@@ -26,6 +34,23 @@ class Works(Base):
     works_order = Column(Integer, default=0) # LLM이 지정해준 work 간의 순서
 
 
+# 2-1. 기술 스택 테이블 (BE 가 관리, 여기서는 이름으로 조회만 함)
+class Stack(Base):
+    __tablename__ = "stack"
+
+    id = Column(Integer, primary_key=True, index=True)
+    stack_name = Column(String(50), nullable=False)
+
+
+# 2-2. Works 에 필요한 기술 스택 (BE 의 skill 기반 할당에서 사용)
+class WorksStack(Base):
+    __tablename__ = "works_stack"
+
+    id = Column(Integer, primary_key=True, index=True)
+    works_id = Column(Integer, ForeignKey("works.id"), nullable=False, index=True)  # works 테이블의 id
+    stack_id = Column(Integer, ForeignKey("stack.id"), nullable=False)              # stack 테이블의 id
+
+
 # 3. Task List 테이블 (세부 작업)
 class TaskList(Base):
     __tablename__ = "task_list"
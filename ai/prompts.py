@@ -57,6 +57,7 @@ def construct_prompt(transcript: str, instruction: Optional[str] = None) -> str:
                 "field": "BE",
                 "title": "사용자 인증 시스템",
                 "level": 3,
+                "stacks": ["Spring Boot", "MySQL"],
                 "tasks": [
                     "Users 테이블 스키마 설계",
                     "POST /login API 구현"
@@ -66,6 +67,7 @@ def construct_prompt(transcript: str, instruction: Optional[str] = None) -> str:
                 "field": "FE",
                 "title": "로그인 UI",
                 "level": 2,
+                "stacks": ["React"],
                 "tasks": [
                     "로그인 페이지 퍼블리싱"
                 ]
@@ -84,6 +86,7 @@ def construct_prompt(transcript: str, instruction: Optional[str] = None) -> str:
         *   **Field:** `BE`, `FE`, `CL`, `AI` 중 하나.
         *   **Title:** 해당 기능을 대표하는 모듈명.
         *   **Level:** 해당 모듈의 난이도 (1: 하, 2: 중, 3: 상). 정수(Integer)로 작성.
+        *   **Stacks:** 해당 모듈을 수행하는 데 필요한 기술 스택 이름 리스트 (예: "Spring Boot", "React", "Docker"). 없으면 빈 리스트.
         *   **Tasks:** 해당 모듈의 세부 실행 작업들.
     3.  **general_tasks:** 특정 기술 스택(Field)에 속하지 않거나, 누구나 수행할 수 있는 일반적인 과제(Action Item)들의 문자열 리스트.
     4.  **Order:** 프로젝트 진행 순서 고려.
@@ -111,6 +114,7 @@ def construct_prompt(transcript: str, instruction: Optional[str] = None) -> str:
                 "field": "BE",
                 "title": "사용자 인증 - Backend",
                 "level": 3,
+                "stacks": ["Spring Boot", "MySQL"],
                 "tasks": [
                     "Users 테이블 스키마 설계 및 마이그레이션",
                     "POST /api/v1/auth/login 엔드포인트 구현"
@@ -137,3 +141,46 @@ def construct_prompt(transcript: str, instruction: Optional[str] = None) -> str:
     
     
     return "\n".join(prompt_parts)
+
+
+def construct_segment_prompt(segment: str, title: Optional[str] = None, index: Optional[int] = None) -> str:
+    """
+    [구간 요약 프롬프트 생성 함수]
+    긴 회의록을 여러 구간으로 나눠 요약할 때(map 단계) 한 구간을 요약하기 위한 프롬프트를 조립합니다.
+    구간 요약들은 이어 붙여져 다시 construct_prompt 의 입력(reduce 단계)으로 사용됩니다.
+
+    Args:
+        segment (str): 회의록의 한 구간
+        title (Optional[str]): 회의 제목
+        index (Optional[int]): 구간 번호 (0부터 시작)
+
+    Returns:
+        str: 구간 요약용 프롬프트 문자열
+    """
+
+    system_prompt = """
+    # Role (역할)
+    당신은 15년 차 시니어 테크니컬 프로젝트 매니저(TPM)입니다.
+
+    # Goal (목표)
+    아래는 긴 회의록의 **일부 구간**입니다. 이 구간의 요약은 다른 구간의 요약과 합쳐져 최종 'Sprint Planning Report' 작성에 사용됩니다.
+    * 결정 사항, 요구사항, 기술 스택, 일정, 담당자, 미해결 쟁점, 리스크를 빠짐없이 남기십시오.
+    * 개발 작업이 될 수 있는 내용은 구체적인 동작 단위(API, 화면, 테이블 등)로 남기십시오.
+    * 업무와 무관한 잡담(날씨, 인사 등)은 제외하십시오.
+    * 구간이 문장 중간에서 시작하거나 끝날 수 있습니다. 앞뒤 맥락을 추측해서 채우지 마십시오.
+
+    # Output
+    * XML 태그나 마크다운 코드 블록 없이, Bullet point 형식의 한국어 텍스트로만 작성하십시오.
+    """
+
+    prompt_parts = [system_prompt]
+    if title:
+        prompt_parts.append(f"회의 제목: {title}")
+    if index is not None:
+        prompt_parts.append(f"구간 번호: {index + 1}")
+
+    prompt_parts.append("\n=== [회의록 구간 시작] ===")
+    prompt_parts.append(segment)
+    prompt_parts.append("=== [회의록 구간 종료] ===\n")
+
+    return "\n".join(prompt_parts)
@@ -0,0 +1,143 @@
+package com.demo.mohazo.common.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * 최근 windowSize 개 호출의 실패율로 열리는 circuit breaker.
+ * - CLOSED: 모두 통과. 최근 호출이 minCalls 개 이상이고 실패율이 threshold 이상이면 OPEN
+ * - OPEN: openDuration 동안 바로 거절
+ * - HALF_OPEN: openDuration 이 지나면 probe 요청을 halfOpenProbes 개만 통과시키고,
+ *   모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+
+    // 최근 호출 결과 (ring buffer, true = 실패)
+    private final boolean[] window;
+    private int next;
+    private int calls;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public CircuitBreaker(String name, int windowSize, int minCalls, double failureRateThreshold,
+                          Duration openDuration, int halfOpenProbes, LongSupplier nanoClock) {
+        this.name = name;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minCalls = Math.max(1, Math.min(minCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 호출해도 되는지 확인하고, HALF_OPEN 이면 probe 자리를 하나 차지한다.
+     * true 를 받았으면 결과를 onSuccess / onFailure 로, 호출하지 않았으면 release 로 돌려줘야 한다.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    // 상태를 바꾸지 않고 거절될지만 확인 (bulkhead 에서 기다리기 전에 빠르게 실패시키는 용도)
+    public synchronized boolean isCallPermitted() {
+        return state != State.OPEN || nanoClock.getAsLong() - openedAt >= openNanos;
+    }
+
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && probesInFlight > 0) {
+            probesInFlight--;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        record(true);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return calls == 0 ? 0 : (double) failures / calls;
+    }
+
+    private void record(boolean failed) {
+        switch (state) {
+            case OPEN -> {
+                // 열리기 전에 시작된 호출의 결과는 무시
+            }
+            case HALF_OPEN -> {
+                probesInFlight = Math.max(0, probesInFlight - 1);
+                if (failed) {
+                    transition(State.OPEN);
+                } else if (++probeSuccesses >= halfOpenProbes) {
+                    transition(State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                if (calls == window.length && window[next]) {
+                    failures--;
+                }
+                window[next] = failed;
+                next = (next + 1) % window.length;
+                calls = Math.min(calls + 1, window.length);
+                if (failed) {
+                    failures++;
+                }
+                if (calls >= minCalls && (double) failures / calls >= failureRateThreshold) {
+                    transition(State.OPEN);
+                }
+            }
+        }
+    }
+
+    private void transition(State to) {
+        if (to == State.OPEN) {
+            log.warn("circuit OPEN: name={}, failureRate={}/{}", name, failures, calls);
+            openedAt = nanoClock.getAsLong();
+        } else {
+            log.info("circuit {}: name={}", to, name);
+        }
+        if (to != State.HALF_OPEN) {
+            // OPEN / CLOSED 로 갈 때는 window 를 비워서 새로 측정
+            next = 0;
+            calls = 0;
+            failures = 0;
+        }
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        state = to;
+    }
+}
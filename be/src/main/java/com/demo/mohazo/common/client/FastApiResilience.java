@@ -0,0 +1,193 @@
+package com.demo.mohazo.common.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * FastAPI 호출이 모두 같이 쓰는 circuit breaker / bulkhead / metrics.
+ * fastApiRestClient(FastApiResilienceInterceptor) 와 fastApiWebClient(FastApiResilienceFilter) 가 같은 인스턴스를 쓰므로
+ * 동기 호출과 스트리밍 호출이 하나의 실패율과 하나의 동시 호출 한도를 나눠 쓴다.
+ * - circuit breaker: AI 서버가 연속으로 실패하거나 느리면 잠시 호출하지 않고 바로 실패시킴
+ * - bulkhead: 동시에 AI 를 호출하는 요청 수를 제한. 자리가 나기를 queue-timeout 까지만 기다림
+ * - 요청마다 fastapi.client.requests (endpoint / outcome) 를 기록해서 latency 와 실패율을 볼 수 있게 함
+ *
+ * 호출한 쪽이 취소(interrupt / 구독 취소)해서 끊긴 요청은 AI 서버 장애가 아니므로 실패율에 넣지 않는다.
+ */
+@Component
+public class FastApiResilience {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final long queueTimeoutMs;
+    private final long slowCallNanos;
+    private final MeterRegistry meterRegistry;
+
+    public FastApiResilience(MeterRegistry meterRegistry,
+                             @Value("${fastapi.circuit.window-size:20}") int windowSize,
+                             @Value("${fastapi.circuit.min-calls:10}") int minCalls,
+                             @Value("${fastapi.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+                             @Value("${fastapi.circuit.open-duration-ms:30000}") long openDurationMs,
+                             @Value("${fastapi.circuit.half-open-probes:1}") int halfOpenProbes,
+                             @Value("${fastapi.circuit.slow-call-ms:45000}") long slowCallMs,
+                             @Value("${fastapi.bulkhead.max-concurrent:16}") int maxConcurrent,
+                             @Value("${fastapi.bulkhead.queue-timeout-ms:2000}") long queueTimeoutMs) {
+        this.meterRegistry = meterRegistry;
+        this.circuitBreaker = new CircuitBreaker("fastapi", windowSize, minCalls, failureRateThreshold,
+                Duration.ofMillis(openDurationMs), halfOpenProbes, System::nanoTime);
+        this.bulkhead = new Semaphore(Math.max(1, maxConcurrent), true);
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+
+        Gauge.builder("fastapi.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .description("FastAPI circuit 상태 (0=CLOSED, 1=OPEN, 2=HALF_OPEN)")
+                .register(meterRegistry);
+        Gauge.builder("fastapi.circuit.failure.rate", circuitBreaker, CircuitBreaker::getFailureRate)
+                .description("FastAPI 최근 호출 실패율")
+                .register(meterRegistry);
+        Gauge.builder("fastapi.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("FastAPI 동시 호출 여유 자리 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * bulkhead 자리와 (HALF_OPEN 이면) probe 자리를 차지한다. 자리가 날 때까지 queue-timeout 만큼 막고 기다리므로
+     * reactive 쪽에서는 boundedElastic 에서 호출해야 한다.
+     * 받은 Call 은 onResponse / onError / onCancel 중 하나로 꼭 끝내야 한다.
+     *
+     * @throws FastApiUnavailableException circuit 이 열려 있거나 bulkhead 자리가 나지 않음
+     */
+    public Call acquire(String endpoint) throws IOException {
+        long start = System.nanoTime();
+
+        // OPEN 이면 bulkhead 에서 기다리지 않고 바로 실패
+        if (!circuitBreaker.isCallPermitted()) {
+            record(endpoint, "CIRCUIT_OPEN", start);
+            throw new FastApiUnavailableException("AI 서버 circuit 이 열려 있습니다: " + endpoint);
+        }
+
+        try {
+            if (!bulkhead.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                record(endpoint, "BULKHEAD_FULL", start);
+                throw new FastApiUnavailableException("AI 서버 동시 호출 한도를 넘었습니다: " + endpoint);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("AI 서버 호출 대기 중 중단되었습니다: " + endpoint);
+        }
+        Timer.builder("fastapi.bulkhead.wait")
+                .description("FastAPI bulkhead 자리를 기다린 시간")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        // 기다리는 동안 OPEN 이 됐거나 HALF_OPEN probe 자리가 없으면 거절
+        if (!circuitBreaker.tryAcquire()) {
+            bulkhead.release();
+            record(endpoint, "CIRCUIT_OPEN", start);
+            throw new FastApiUnavailableException("AI 서버 circuit 이 열려 있습니다: " + endpoint);
+        }
+        return new Call(endpoint, start);
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private void record(String endpoint, String outcome, long start) {
+        Timer.builder("fastapi.client.requests")
+                .description("FastAPI 호출 시간 (bulkhead 대기 포함)")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * acquire 로 받은 호출 하나. 결과는 한 번만 반영되고 bulkhead 자리도 한 번만 돌려준다
+     * (스트리밍은 응답 헤더를 받은 뒤에도 body 가 끝날 때까지 자리를 잡고 있음).
+     */
+    public final class Call {
+
+        private final String endpoint;
+        private final long start;
+        private final long callStart = System.nanoTime();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile long headersAt;
+
+        private Call(String endpoint, long start) {
+            this.endpoint = endpoint;
+            this.start = start;
+        }
+
+        // 응답 헤더를 받은 시각. 느린 호출 판정은 body 가 끝난 시각이 아니라 이 시각으로 함 (스트리밍)
+        public void onHeaders() {
+            headersAt = System.nanoTime();
+        }
+
+        public void onResponse(int status) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            long respondedAt = headersAt != 0 ? headersAt : System.nanoTime();
+            boolean slow = respondedAt - callStart >= slowCallNanos;
+            // 4xx 는 요청 문제이므로 AI 서버 장애로 세지 않음
+            if (status >= 500 || slow) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            record(endpoint, status >= 400 ? "HTTP_" + status : slow ? "SLOW" : "SUCCESS", start);
+            bulkhead.release();
+        }
+
+        public void onError(Throwable e) {
+            if (isCancelled(e)) {
+                onCancel();
+                return;
+            }
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            circuitBreaker.onFailure();
+            record(endpoint, e instanceof IOException ? "IO_ERROR" : e.getClass().getSimpleName(), start);
+            bulkhead.release();
+        }
+
+        // 결과를 세지 않고 HALF_OPEN probe 자리와 bulkhead 자리만 돌려줌
+        public void onCancel() {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            circuitBreaker.release();
+            record(endpoint, "CANCELLED", start);
+            bulkhead.release();
+        }
+    }
+
+    // future.cancel(true) 등으로 interrupt 된 호출. read timeout(SocketTimeoutException)은 느린 AI 서버이므로 실패로 셈
+    private static boolean isCancelled(Throwable e) {
+        return Thread.currentThread().isInterrupted()
+                || (e instanceof InterruptedIOException && !(e instanceof SocketTimeoutException));
+    }
+
+    /**
+     * circuit 이 열려 있거나 bulkhead 가 가득 차서 거절됨.
+     * IOException 이므로 RestClient 는 ResourceAccessException 으로 감싸고, 호출하는 쪽은 기존 예외 처리로 바로 실패한다.
+     */
+    public static class FastApiUnavailableException extends IOException {
+        public FastApiUnavailableException(String message) {
+            super(message);
+        }
+    }
+}
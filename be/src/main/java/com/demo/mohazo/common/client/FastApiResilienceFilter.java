@@ -0,0 +1,53 @@
+package com.demo.mohazo.common.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * fastApiWebClient 의 모든 요청 앞에 붙는 WebClient 필터. fastApiRestClient 와 같은 FastApiResilience 를 쓴다.
+ * - 거절되면 FastApiUnavailableException 으로 바로 실패 (AI 서버로 요청을 보내지 않음)
+ * - /generate/stream 처럼 응답이 흘러오는 호출은 body 가 끝날 때까지 bulkhead 자리를 잡고,
+ *   결과(성공 / 실패 / 취소)도 body 가 끝난 시점에 반영한다
+ */
+@Component
+@RequiredArgsConstructor
+public class FastApiResilienceFilter implements ExchangeFilterFunction {
+
+    private final FastApiResilience resilience;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String endpoint = request.url().getPath();
+
+        // bulkhead 자리를 기다리는 동안 event loop 를 막지 않도록 boundedElastic 에서 acquire
+        return Mono.fromCallable(() -> resilience.acquire(endpoint))
+                .subscribeOn(Schedulers.boundedElastic())
+                // acquire 하는 사이에 구독이 취소되면 받은 자리를 돌려줌
+                .doOnDiscard(FastApiResilience.Call.class, FastApiResilience.Call::onCancel)
+                .flatMap(call -> next.exchange(request)
+                        .doOnError(call::onError)
+                        .doOnCancel(call::onCancel)
+                        .map(response -> track(call, response)));
+    }
+
+    private ClientResponse track(FastApiResilience.Call call, ClientResponse response) {
+        call.onHeaders();
+        int status = response.statusCode().value();
+        if (status >= 500) {
+            call.onResponse(status);
+            return response;
+        }
+        return response.mutate()
+                .body(body -> body
+                        .doOnComplete(() -> call.onResponse(status))
+                        .doOnError(call::onError)
+                        .doOnCancel(call::onCancel))
+                .build();
+    }
+}
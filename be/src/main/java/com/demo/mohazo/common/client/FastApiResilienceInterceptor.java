@@ -0,0 +1,42 @@
+package com.demo.mohazo.common.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * fastApiRestClient 의 모든 요청 앞에 붙는 interceptor.
+ * circuit breaker / bulkhead / metrics 는 fastApiWebClient 와 같이 쓰는 FastApiResilience 에 맡긴다.
+ *
+ * 거절은 FastApiUnavailableException(IOException)으로 던지므로 RestClient 가 ResourceAccessException 으로 감싸고,
+ * 호출하는 쪽은 기존 RestClientException 처리로 바로 실패한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class FastApiResilienceInterceptor implements ClientHttpRequestInterceptor {
+
+    private final FastApiResilience resilience;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        FastApiResilience.Call call = resilience.acquire(request.getURI().getPath());
+
+        ClientHttpResponse response;
+        int status;
+        try {
+            response = execution.execute(request, body);
+            status = response.getStatusCode().value();
+        } catch (IOException | RuntimeException | Error e) {
+            call.onError(e);
+            throw e;
+        }
+        call.onResponse(status);
+        return response;
+    }
+}
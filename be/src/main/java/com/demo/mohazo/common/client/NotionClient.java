@@ -0,0 +1,95 @@
+package com.demo.mohazo.common.client;
+
+import com.demo.mohazo.common.entity.Team;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notion API 호출 창구.
+ * Authorization(팀의 integration token)과 Notion-Version 헤더를 한 곳에서 붙이고,
+ * 호출마다 endpoint(URI 템플릿) / team 별 latency 를 notion.client.requests 로 기록한다.
+ *
+ * endpoint 태그에는 "/blocks/{id}/children" 처럼 변수를 치환하기 전 템플릿을 쓰므로 태그 수가 늘어나지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotionClient {
+
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+
+    public Mono<JsonNode> get(Team team, String uriTemplate, Map<String, ?> queryParams, Object... uriVariables) {
+        return exchange(HttpMethod.GET, team, uriTemplate, queryParams, null, uriVariables);
+    }
+
+    public Mono<JsonNode> post(Team team, String uriTemplate, Object body, Object... uriVariables) {
+        return exchange(HttpMethod.POST, team, uriTemplate, Map.of(), body, uriVariables);
+    }
+
+    public Mono<JsonNode> patch(Team team, String uriTemplate, Object body, Object... uriVariables) {
+        return exchange(HttpMethod.PATCH, team, uriTemplate, Map.of(), body, uriVariables);
+    }
+
+    public Mono<Void> delete(Team team, String uriTemplate, Object... uriVariables) {
+        return exchange(HttpMethod.DELETE, team, uriTemplate, Map.of(), null, uriVariables).then();
+    }
+
+    private Mono<JsonNode> exchange(HttpMethod method, Team team, String uriTemplate, Map<String, ?> queryParams,
+                                    Object body, Object[] uriVariables) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(uriBuilder -> {
+                    uriBuilder.path(uriTemplate);
+                    queryParams.forEach((name, value) -> {
+                        if (value != null) {
+                            uriBuilder.queryParam(name, value);
+                        }
+                    });
+                    return uriBuilder.build(uriVariables);
+                })
+                .headers(headers -> headers.setBearerAuth(team.getNotionKey()));
+
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        Mono<JsonNode> call = spec.retrieve().bodyToMono(JsonNode.class);
+
+        // rate limit 대기와 재시도까지 포함한, 호출한 쪽에서 체감하는 시간
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call
+                    .doOnSuccess(node -> record(method, uriTemplate, team, "SUCCESS", start))
+                    .doOnError(e -> record(method, uriTemplate, team, outcome(e), start));
+        });
+    }
+
+    private void record(HttpMethod method, String uriTemplate, Team team, String outcome, long start) {
+        Timer.builder("notion.client.requests")
+                .description("Notion API 호출 시간")
+                .tag("method", method.name())
+                .tag("endpoint", uriTemplate)
+                .tag("team", String.valueOf(team.getId()))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private String outcome(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return "HTTP_" + response.getStatusCode().value();
+        }
+        if (e instanceof WebClientRequestException) {
+            return "IO_ERROR";
+        }
+        return e.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,98 @@
+package com.demo.mohazo.common.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 모든 Notion 요청 앞에 붙는 WebClient 필터.
+ * - Authorization 헤더(token) 기준으로 NotionRateLimiter 에서 허용 시점을 받은 뒤 요청
+ * - 429 는 Retry-After 를 반영해서 재시도 (Notion 이 처리하지 않은 요청이므로 POST 도 안전)
+ * - 5xx / 연결 오류는 멱등 요청만 jitter backoff 로 재시도
+ */
+@Component
+public class NotionRateLimitFilter implements ExchangeFilterFunction {
+
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final NotionRateLimiter rateLimiter;
+    private final int maxRetries;
+    private final Duration minBackoff;
+
+    public NotionRateLimitFilter(NotionRateLimiter rateLimiter,
+                                 @Value("${notion.rate-limit.max-retries:3}") int maxRetries,
+                                 @Value("${notion.rate-limit.min-backoff-ms:500}") long minBackoffMs) {
+        this.rateLimiter = rateLimiter;
+        this.maxRetries = maxRetries;
+        this.minBackoff = Duration.ofMillis(minBackoffMs);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String token = request.headers().getFirst(HttpHeaders.AUTHORIZATION);
+        if (token == null) {
+            return next.exchange(request);
+        }
+
+        boolean idempotent = isIdempotent(request);
+
+        return Mono.defer(() -> rateLimiter.acquire(token).then(next.exchange(request)))
+                .flatMap(response -> {
+                    int status = response.statusCode().value();
+                    if (status == 429) {
+                        rateLimiter.onRateLimited(token, retryAfter(response));
+                        return response.releaseBody()
+                                .then(Mono.error(new RetryableNotionException(request, status)));
+                    }
+                    if (idempotent && response.statusCode().is5xxServerError()) {
+                        return response.releaseBody()
+                                .then(Mono.error(new RetryableNotionException(request, status)));
+                    }
+                    return Mono.just(response);
+                })
+                .retryWhen(Retry.backoff(maxRetries, minBackoff)
+                        .jitter(0.5)
+                        .filter(e -> e instanceof RetryableNotionException
+                                || (idempotent && e instanceof WebClientRequestException))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    // PATCH /pages/{id} (속성 수정)는 같은 값을 다시 보내도 결과가 같지만
+    // PATCH /blocks/{id}/children (블록 추가)는 재시도하면 내용이 중복된다
+    private boolean isIdempotent(ClientRequest request) {
+        HttpMethod method = request.method();
+        if (HttpMethod.GET.equals(method) || HttpMethod.PUT.equals(method) || HttpMethod.DELETE.equals(method)) {
+            return true;
+        }
+        return HttpMethod.PATCH.equals(method) && !request.url().getPath().endsWith("/children");
+    }
+
+    private Duration retryAfter(ClientResponse response) {
+        List<String> values = response.headers().header(HttpHeaders.RETRY_AFTER);
+        if (values.isEmpty()) {
+            return DEFAULT_RETRY_AFTER;
+        }
+        try {
+            return Duration.ofMillis((long) (Double.parseDouble(values.get(0).trim()) * 1000));
+        } catch (NumberFormatException e) {
+            return DEFAULT_RETRY_AFTER;
+        }
+    }
+
+    public static class RetryableNotionException extends RuntimeException {
+        public RetryableNotionException(ClientRequest request, int status) {
+            super("Notion API " + request.method() + " " + request.url().getPath() + " 응답 " + status);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.demo.mohazo.common.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Notion integration token 별 요청 속도 제한기.
+ * token 마다 하나의 버킷(GCRA 방식 token bucket)을 두고, 요청은 허용 시점을 예약한 뒤 그 시점까지 기다린다.
+ * 429 응답을 받으면 Retry-After 만큼 해당 token 의 버킷 전체를 멈춘다.
+ */
+@Slf4j
+@Component
+public class NotionRateLimiter {
+
+    private final MeterRegistry meterRegistry;
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public NotionRateLimiter(MeterRegistry meterRegistry,
+                             @Value("${notion.rate-limit.requests-per-second:3}") double requestsPerSecond,
+                             @Value("${notion.rate-limit.burst:3}") int burst) {
+        this.meterRegistry = meterRegistry;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.burstToleranceNanos = intervalNanos * Math.max(0, burst - 1);
+    }
+
+    /**
+     * token 의 다음 허용 시점까지 기다렸다가 완료되는 Mono.
+     */
+    public Mono<Void> acquire(String token) {
+        Bucket bucket = bucket(token);
+        long waitNanos = bucket.reserve(System.nanoTime());
+        if (waitNanos <= 0) {
+            bucket.waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return Mono.empty();
+        }
+
+        bucket.queued.incrementAndGet();
+        return Mono.delay(Duration.ofNanos(waitNanos))
+                .doFinally(signal -> {
+                    bucket.queued.decrementAndGet();
+                    bucket.waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+                })
+                .then();
+    }
+
+    /**
+     * 429 응답 시 호출. retryAfter 동안 해당 token 의 모든 요청을 보류한다.
+     */
+    public void onRateLimited(String token, Duration retryAfter) {
+        Bucket bucket = bucket(token);
+        bucket.pauseUntil(System.nanoTime() + retryAfter.toNanos());
+        bucket.throttled.increment();
+        log.warn("Notion rate limit 도달: client={}, retryAfter={}ms", bucket.key, retryAfter.toMillis());
+    }
+
+    public int queueDepth(String token) {
+        return bucket(token).queued.get();
+    }
+
+    private Bucket bucket(String token) {
+        return buckets.computeIfAbsent(token, this::newBucket);
+    }
+
+    private Bucket newBucket(String token) {
+        // 메트릭 태그에는 token 원문 대신 짧은 해시만 노출
+        String key = Integer.toHexString(token.hashCode());
+        AtomicInteger queued = new AtomicInteger();
+        Gauge.builder("notion.ratelimit.queue.depth", queued, AtomicInteger::get)
+                .description("Notion 요청 대기열 길이")
+                .tag("client", key)
+                .register(meterRegistry);
+        Timer waitTimer = Timer.builder("notion.ratelimit.wait")
+                .description("Notion 요청이 rate limit 때문에 기다린 시간")
+                .tag("client", key)
+                .register(meterRegistry);
+        Counter throttled = Counter.builder("notion.ratelimit.throttled")
+                .description("Notion 429 응답 횟수")
+                .tag("client", key)
+                .register(meterRegistry);
+        return new Bucket(key, queued, waitTimer, throttled);
+    }
+
+    private final class Bucket {
+        private final String key;
+        private final AtomicInteger queued;
+        private final Timer waitTimer;
+        private final Counter throttled;
+
+        // 다음 요청의 이론적 도착 시각 (nanoTime 기준)
+        private long tat = Long.MIN_VALUE;
+        private long pausedUntil = Long.MIN_VALUE;
+
+        private Bucket(String key, AtomicInteger queued, Timer waitTimer, Counter throttled) {
+            this.key = key;
+            this.queued = queued;
+            this.waitTimer = waitTimer;
+            this.throttled = throttled;
+        }
+
+        /**
+         * 허용 시점을 하나 예약하고, 지금부터 그 시점까지 남은 시간(ns)을 돌려준다.
+         */
+        private synchronized long reserve(long now) {
+            long start = Math.max(now, pausedUntil);
+            tat = Math.max(tat, start);
+            long allowedAt = Math.max(start, tat - burstToleranceNanos);
+            tat += intervalNanos;
+            return allowedAt - now;
+        }
+
+        private synchronized void pauseUntil(long until) {
+            pausedUntil = Math.max(pausedUntil, until);
+            tat = Math.max(tat, pausedUntil);
+        }
+    }
+}
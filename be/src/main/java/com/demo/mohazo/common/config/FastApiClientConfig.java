@@ -1,10 +1,15 @@
 package com.demo.mohazo.common.config;
 
+import com.demo.mohazo.common.client.FastApiResilienceFilter;
+import com.demo.mohazo.common.client.FastApiResilienceInterceptor;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
@@ -12,18 +17,40 @@ import java.time.Duration;
 @Configuration
 public class FastApiClientConfig {
 
+    // circuit breaker / bulkhead 는 FastApiResilienceInterceptor 가 모든 요청에 적용 (fastApiWebClient 와 같은 FastApiResilience)
     @Bean
-    RestClient fastApiRestClient(@Value("${fastapi.base-url}") String baseUrl) {
+    RestClient fastApiRestClient(@Value("${fastapi.base-url}") String baseUrl,
+                                 @Value("${fastapi.read-timeout-ms:60000}") long readTimeoutMs,
+                                 FastApiResilienceInterceptor fastApiResilienceInterceptor) {
         HttpClient httpClient = HttpClient.newBuilder()
                 .version(HttpClient.Version.HTTP_1_1)
                 .connectTimeout(Duration.ofSeconds(10)) // 연결 타임아웃
                 .build();
 
         JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
-        factory.setReadTimeout(Duration.ofSeconds(60));
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
 
         return RestClient.builder()
                 .baseUrl(baseUrl)
-                .requestFactory(factory).build();
+                .requestFactory(factory)
+                .requestInterceptor(fastApiResilienceInterceptor)
+                .build();
+    }
+
+    // /generate/stream (SSE) 처럼 응답을 끝까지 기다리지 않고 흘려받는 호출용 non-blocking client.
+    // fastApiRestClient 와 같은 circuit breaker / bulkhead 를 FastApiResilienceFilter 로 적용
+    @Bean
+    WebClient fastApiWebClient(@Value("${fastapi.base-url}") String baseUrl,
+                               @Value("${fastapi.stream-read-timeout-ms:60000}") long readTimeoutMs,
+                               FastApiResilienceFilter fastApiResilienceFilter) {
+        reactor.netty.http.client.HttpClient httpClient = reactor.netty.http.client.HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10_000) // 연결 타임아웃
+                .responseTimeout(Duration.ofMillis(readTimeoutMs)); // chunk 사이 최대 대기 시간
+
+        return WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(fastApiResilienceFilter)
+                .build();
     }
 }
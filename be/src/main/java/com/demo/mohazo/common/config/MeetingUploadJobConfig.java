@@ -0,0 +1,32 @@
+package com.demo.mohazo.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class MeetingUploadJobConfig {
+
+    // AI(/generate) + Notion page 생성을 실행하는 worker. 요청 스레드와 DB 커넥션을 잡지 않음
+    @Bean
+    public ThreadPoolTaskExecutor meetingUploadExecutor(
+            @Value("${meeting.upload.workers:8}") int workers,
+            @Value("${meeting.upload.queue-capacity:200}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor =
+                VirtualThreadConfig.fixedWorkerExecutor("meeting-upload-", workers, queueCapacity, virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    // 한 업로드 안의 독립 단계(AI / Notion page 생성 / Meeting 조회)를 동시에 실행하는 executor
+    @Bean
+    public ThreadPoolTaskExecutor meetingStageExecutor(
+            @Value("${meeting.upload.stage-workers:64}") int workers,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // 단계는 업로드가 기다리고 있으므로 거절하지 않고 대기 (큐 크기 제한 없음)
+        return VirtualThreadConfig.fixedWorkerExecutor("meeting-stage-", workers, Integer.MAX_VALUE, virtualThreads);
+    }
+}
@@ -0,0 +1,22 @@
+package com.demo.mohazo.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class NotionExportJobConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor notionExportExecutor(
+            @Value("${notion.export.jobs.workers:4}") int workers,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // poll 은 빈 worker 수만큼만 가져오므로 큰 큐가 필요 없음
+        ThreadPoolTaskExecutor executor =
+                VirtualThreadConfig.fixedWorkerExecutor("notion-export-", workers, workers, virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
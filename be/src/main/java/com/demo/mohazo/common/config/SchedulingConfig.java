@@ -0,0 +1,13 @@
+package com.demo.mohazo.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 앱 전체의 @Scheduled 작업을 켠다 (Notion export / 회의 업로드 job poller, checkpoint 정리 등).
+ * 특정 기능의 config 에 두면 그 config 가 빠질 때 다른 스케줄러도 같이 멈추므로 따로 둔다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
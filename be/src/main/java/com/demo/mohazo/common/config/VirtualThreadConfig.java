@@ -0,0 +1,62 @@
+package com.demo.mohazo.common.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * spring.threads.virtual.enabled=true (virtual 프로필) 일 때
+ * Tomcat 요청 처리(Spring Boot 가 설정)뿐 아니라 JPA / .block() 같은 blocking 작업을 넘기는
+ * Schedulers.boundedElastic() 도 virtual thread 에서 실행되도록 바꾼다.
+ * 작업마다 virtual thread 를 새로 만들기 때문에 스레드 수 상한(CPU x 10)에 걸려 대기하지 않는다.
+ * 동시 DB 접근은 커넥션 풀 크기로 제한된다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @PostConstruct
+    public void useVirtualThreadsForBlockingScheduler() {
+        Schedulers.setFactory(new Schedulers.Factory() {
+            @Override
+            public Scheduler newBoundedElastic(int threadCap, int queuedTaskCap, ThreadFactory threadFactory, int ttlSeconds) {
+                return Schedulers.fromExecutorService(
+                        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("blocking-vt-", 0).factory()),
+                        "boundedElastic-virtual");
+            }
+        });
+        log.info("virtual thread 모드: Schedulers.boundedElastic() 를 virtual thread 로 실행");
+    }
+
+    @PreDestroy
+    public void resetBlockingScheduler() {
+        Schedulers.resetFactory();
+    }
+
+    /**
+     * worker 수 = 동시 실행 상한인 고정 크기 executor (meeting upload / stage, notion export 가 같이 사용).
+     * virtual 모드에서는 worker 도 virtual thread 로 실행한다. 스레드만 가벼워지고 pool 크기(동시 실행 상한)는 그대로다.
+     * 이 설정 클래스가 virtual 모드에서만 뜨므로 static 으로 두고, 종료 대기 같은 나머지 설정은 호출하는 쪽에서 한다.
+     */
+    public static ThreadPoolTaskExecutor fixedWorkerExecutor(String threadNamePrefix, int workers, int queueCapacity,
+                                                             boolean virtualThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        if (virtualThreads) {
+            executor.setThreadFactory(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+        }
+        return executor;
+    }
+}
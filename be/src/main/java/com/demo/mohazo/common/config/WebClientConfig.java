@@ -1,17 +1,66 @@
 package com.demo.mohazo.common.config;
 
+import com.demo.mohazo.common.client.NotionRateLimitFilter;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
 
+    // Notion 전용 connection pool. 요청마다 TLS handshake 를 다시 하지 않도록 연결을 재사용하고,
+    // pool 이 가득 찼을 때 무한정 기다리지 않도록 pending-acquire 제한을 둠
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider notionConnectionProvider(
+            @Value("${notion.client.max-connections:50}") int maxConnections,
+            @Value("${notion.client.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+            @Value("${notion.client.pending-acquire-timeout-ms:10000}") long pendingAcquireTimeoutMs,
+            @Value("${notion.client.max-idle-time-ms:30000}") long maxIdleTimeMs,
+            @Value("${notion.client.max-life-time-ms:300000}") long maxLifeTimeMs) {
+        return ConnectionProvider.builder("notion")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true) // reactor.netty.connection.provider.* (pending / active 연결 수)
+                .build();
+    }
+
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(NotionRateLimitFilter notionRateLimitFilter,
+                               ConnectionProvider notionConnectionProvider,
+                               @Value("${notion.client.base-url:https://api.notion.com/v1}") String baseUrl,
+                               @Value("${notion.client.version:2022-06-28}") String notionVersion,
+                               @Value("${notion.client.http2:true}") boolean http2,
+                               @Value("${notion.client.connect-timeout-ms:3000}") int connectTimeoutMs,
+                               @Value("${notion.client.response-timeout-ms:30000}") long responseTimeoutMs) {
+        HttpClient httpClient = HttpClient.create(notionConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs))
+                .compress(true); // Accept-Encoding: gzip
+
+        // TLS ALPN 으로 h2 를 협상하고, 서버가 지원하지 않으면 HTTP/1.1 로 내려감
+        if (http2) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+
         return WebClient.builder()
-                .baseUrl("https://api.notion.com/v1")
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader("Notion-Version", notionVersion)
+                .filter(notionRateLimitFilter)
                 .build();
 
     }
-}
\ No newline at end of file
+}
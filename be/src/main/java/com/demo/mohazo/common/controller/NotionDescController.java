@@ -3,24 +3,41 @@ package com.demo.mohazo.common.controller;
 import com.demo.mohazo.common.dto.NotionDescRequest;
 import com.demo.mohazo.common.dto.NotionDescResponse;
 import com.demo.mohazo.common.service.NotionDescService;
+import com.demo.mohazo.export.service.NotionExportJobService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
 
 @RestController
 @RequestMapping("/notion")
 @RequiredArgsConstructor
 public class NotionDescController {
     private final NotionDescService notionDescService;
+    private final NotionExportJobService notionExportJobService;
 
     @PostMapping("/description")
-    public ResponseEntity<NotionDescResponse<Object>> exportDescToNotion(@RequestBody NotionDescRequest request) {
+    public Mono<ResponseEntity<NotionDescResponse<Object>>> exportDescToNotion(
+            @RequestBody NotionDescRequest request,
+            @RequestParam(name = "async", defaultValue = "false") boolean async) {
+
+            // async=true 이면 job 만 적재하고 바로 jobid 반환 (진행 상황은 GET /api/notion/jobs/{jobid})
+            if (async) {
+                return Mono.fromCallable(() -> notionExportJobService.enqueueDescription(request.getMeetingid(), request.getTeamid()))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .map(jobId -> ResponseEntity.accepted()
+                                .body(new NotionDescResponse<Object>("meeting script export queued", Map.of("jobid", jobId))));
+            }
 
-            notionDescService.exportDescToNotion(request.getMeetingid());
-            return ResponseEntity.ok(new NotionDescResponse<>("meeting script successfully exported to notion", null));
+            return notionDescService.exportDescToNotionAsync(request.getMeetingid(), request.getTeamid())
+                    .thenReturn(ResponseEntity.ok(new NotionDescResponse<>("meeting script successfully exported to notion", null)));
         
     }
-}
\ No newline at end of file
+}
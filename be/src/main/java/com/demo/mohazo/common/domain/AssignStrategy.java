@@ -0,0 +1,8 @@
+package com.demo.mohazo.common.domain;
+
+// 작업 자동 할당 방식
+public enum AssignStrategy {
+    FIELD, // 같은 Field 에서 작업 수가 가장 적은 유저 (기본)
+    SKILL,  // 같은 Field 에서 스택 일치 / 레벨 / 작업 수 점수가 가장 높은 유저 (MohajoAlgorithm)
+    OPTIMAL // Field 별 작업 묶음 전체의 level 차이 + 작업 수 비용이 최소가 되게 (LevelBalancedSolver, 시간 초과 시 FIELD)
+}
@@ -0,0 +1,5 @@
+package com.demo.mohazo.common.domain;
+
+public enum JobStatus {
+    PENDING, RUNNING, DONE, FAILED
+}
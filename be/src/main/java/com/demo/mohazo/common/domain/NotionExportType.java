@@ -0,0 +1,5 @@
+package com.demo.mohazo.common.domain;
+
+public enum NotionExportType {
+    DESCRIPTION, TASK_BOARD, TASK_SYNC
+}
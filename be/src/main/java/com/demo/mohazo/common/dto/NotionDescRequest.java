@@ -9,4 +9,5 @@ import lombok.Setter;
 @AllArgsConstructor
 public class NotionDescRequest {
     private final Long meetingid;
+    private final Long teamid; // 없으면 기본 팀
 }
\ No newline at end of file
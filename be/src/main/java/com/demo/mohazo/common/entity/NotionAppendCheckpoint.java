@@ -0,0 +1,41 @@
+package com.demo.mohazo.common.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 긴 Notion 페이지에 block 을 나눠 붙일 때, 마지막으로 성공한 batch 위치.
+ * 같은 페이지에 같은 내용을 다시 보내면 이 위치 다음 batch 부터 이어서 보낸다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "notion_append_checkpoint",
+        uniqueConstraints = @UniqueConstraint(name = "uk_notion_append_checkpoint", columnNames = {"page_id", "content_hash"}))
+public class NotionAppendCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name="page_id", nullable = false, length = 200)
+    private String pageId;
+
+    @Column(name="content_hash", nullable = false, length = 64)
+    private String contentHash; // 보내는 markdown 의 SHA-256
+
+    @Column(name="acked_batches", nullable = false)
+    @Builder.Default
+    private Integer ackedBatches = 0;
+
+    @UpdateTimestamp
+    @Column(name="updated_at")
+    private LocalDateTime updatedAt;
+
+}
@@ -1,5 +1,6 @@
 package com.demo.mohazo.common.entity;
 
+import com.demo.mohazo.common.service.TeamCacheInvalidator;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -10,6 +11,7 @@ import lombok.*;
 @Builder
 @Entity
 @Table(name = "team")
+@EntityListeners(TeamCacheInvalidator.class) // notionKey / page url 이 바뀌면 TeamContextResolver 캐시를 비움
 public class Team {
 
     @Id
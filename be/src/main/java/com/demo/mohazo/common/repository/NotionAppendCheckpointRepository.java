@@ -0,0 +1,34 @@
+package com.demo.mohazo.common.repository;
+
+import com.demo.mohazo.common.entity.NotionAppendCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface NotionAppendCheckpointRepository extends JpaRepository<NotionAppendCheckpoint, Long> {
+
+    Optional<NotionAppendCheckpoint> findByPageIdAndContentHash(String pageId, String contentHash);
+
+    // 같은 페이지의 다른 내용(이전 버전) checkpoint. 새 내용을 보내기 시작하면 더 이어서 보낼 일이 없음
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NotionAppendCheckpoint c WHERE c.pageId = :pageId AND c.contentHash <> :contentHash")
+    int deleteOtherContents(String pageId, String contentHash);
+
+    // diff 로 페이지 전체를 맞췄으면 그 페이지의 checkpoint 는 모두 의미 없음
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NotionAppendCheckpoint c WHERE c.pageId = :pageId")
+    int deleteByPage(String pageId);
+
+    // 중간에 실패한 뒤 다시 보내지 않은 checkpoint
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NotionAppendCheckpoint c WHERE c.updatedAt < :before")
+    int deleteUpdatedBefore(LocalDateTime before);
+
+}
@@ -1,16 +1,88 @@
 package com.demo.mohazo.common.service;
 
 
+import com.demo.mohazo.stack.repository.UserStackRepository;
+import com.demo.mohazo.stack.repository.WorksStackRepository;
+import com.demo.mohazo.user.entity.User;
 import com.demo.mohazo.works.entity.Works;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * 기술 스택을 고려한 Works 할당.
+ * Field 는 그대로 필수 조건으로 두고, 같은 Field 유저 중에서
+ * 스택이 많이 겹치고 level 이 가깝고 작업이 적은 유저를 고른다 (점수 계산은 SkillMatcher).
+ * 유저 스택 / 작업 스택은 할당 시작 전에 한 번씩만 조회하고, 후보 유저와 작업 수는 호출하는 쪽(잠근 행)에서 받는다.
+ */
 @Service
+@RequiredArgsConstructor
 public class MohajoAlgorithm {
 
+    // IN 절 하나에 넣는 works id 수
+    private static final int IN_CHUNK_SIZE = 1000;
 
-    public List<Works>  Classfication(List<Works> worksList) {
-        return List.of(new Works());
+    private final UserStackRepository userStackRepository;
+    private final WorksStackRepository worksStackRepository;
+
+    @Value("${works.assign.skill.weight.overlap:3}")
+    private int overlapWeight;
+
+    @Value("${works.assign.skill.weight.level:2}")
+    private int levelWeight;
+
+    @Value("${works.assign.skill.weight.load:1}")
+    private int loadWeight;
+
+    /**
+     * worksList 의 각 Works 에 assignee 를 지정해서 돌려준다 (저장은 호출하는 쪽에서).
+     * 같은 Field 유저가 없는 Works 는 assignee 를 비워 둔다.
+     *
+     * @param users          할당 후보 유저
+     * @param assignedCounts 후보 유저별 현재 작업 수 (userId, count)
+     */
+    public List<Works>  Classfication(List<Works> worksList, List<User> users, List<Object[]> assignedCounts) {
+        if (worksList.isEmpty()) {
+            return worksList;
+        }
+
+        SkillMatcher matcher = new SkillMatcher(
+                users,
+                userStackRepository.findAllUserStackIds(),
+                assignedCounts,
+                new SkillMatcher.Weights(overlapWeight, levelWeight, loadWeight));
+
+        Map<Long, List<Long>> stacksByWorks = loadWorksStacks(worksList);
+        for (Works work : worksList) {
+            long[] worksBits = matcher.bitsOf(stacksByWorks.getOrDefault(work.getId(), List.of()));
+            User bestCandidate = matcher.assign(work, worksBits);
+            if (bestCandidate != null) {
+                work.setAssignee(bestCandidate);
+            }
+        }
+        return worksList;
+    }
+
+    // worksId -> 필요한 stack id 목록
+    private Map<Long, List<Long>> loadWorksStacks(List<Works> worksList) {
+        List<Long> worksIds = worksList.stream()
+                .map(Works::getId)
+                .filter(id -> id != null)
+                .toList();
+
+        Map<Long, List<Long>> stacksByWorks = new HashMap<>();
+        for (int from = 0; from < worksIds.size(); from += IN_CHUNK_SIZE) {
+            List<Long> chunk = worksIds.subList(from, Math.min(from + IN_CHUNK_SIZE, worksIds.size()));
+            for (Object[] row : worksStackRepository.findStackIdsByWorksIdIn(chunk)) {
+                stacksByWorks.computeIfAbsent(((Number) row[0]).longValue(), id -> new ArrayList<>())
+                        .add(((Number) row[1]).longValue());
+            }
+        }
+        return stacksByWorks;
     }
 }
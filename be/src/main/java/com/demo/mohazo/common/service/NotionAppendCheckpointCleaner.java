@@ -0,0 +1,36 @@
+package com.demo.mohazo.common.service;
+
+import com.demo.mohazo.common.repository.NotionAppendCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 끝까지 붙이지 못하고 남은 notion_append_checkpoint 를 ttl 이 지나면 지운다.
+ * checkpoint 가 없어진 페이지를 다시 보내면 diff 경로가 이미 붙은 block 과 비교해서 맞춘다.
+ */
+@Slf4j
+@Component
+public class NotionAppendCheckpointCleaner {
+
+    private final NotionAppendCheckpointRepository checkpointRepository;
+    private final Duration ttl;
+
+    public NotionAppendCheckpointCleaner(NotionAppendCheckpointRepository checkpointRepository,
+                                         @Value("${notion.append-checkpoint.ttl-ms:86400000}") long ttlMs) {
+        this.checkpointRepository = checkpointRepository;
+        this.ttl = Duration.ofMillis(ttlMs);
+    }
+
+    @Scheduled(fixedDelayString = "${notion.append-checkpoint.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        int deleted = checkpointRepository.deleteUpdatedBefore(LocalDateTime.now().minus(ttl));
+        if (deleted > 0) {
+            log.info("만료된 Notion append checkpoint 삭제: count={}", deleted);
+        }
+    }
+}
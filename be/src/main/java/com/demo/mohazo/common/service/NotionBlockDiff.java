@@ -0,0 +1,196 @@
+package com.demo.mohazo.common.service;
+
+import tools.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 페이지에 이미 있는 block 목록과 새로 변환한 block 목록을 비교해서
+ * 최소한의 update / delete / insert 작업 목록을 만든다.
+ *
+ * 앞뒤로 같은 block 은 그대로 두고, 가운데 달라진 구간만 위치 순서대로 맞춰 본다.
+ * - 같은 type: 내용이 다르면 update
+ * - 다른 type: 기존 block 삭제 후 새 block 삽입
+ * - 남는 기존 block 은 삭제, 남는 새 block 은 직전 block 뒤에 삽입
+ * 페이지 맨 앞에 삽입해야 하는 경우는 Notion API 로 표현할 수 없으므로 전체를 다시 쓴다.
+ */
+public final class NotionBlockDiff {
+
+    private NotionBlockDiff() {
+    }
+
+    public record ExistingBlock(String id, String type, String signature) {}
+
+    public record Update(String blockId, Map<String, Object> block) {}
+
+    // afterBlockId 가 null 이면 페이지 끝에 붙임
+    public record Insert(String afterBlockId, List<Map<String, Object>> blocks) {}
+
+    public record Plan(List<Update> updates, List<String> deletes, List<Insert> inserts) {
+        public boolean isEmpty() {
+            return updates.isEmpty() && deletes.isEmpty() && inserts.isEmpty();
+        }
+
+        public int operationCount() {
+            return updates.size() + deletes.size() + inserts.size();
+        }
+    }
+
+    public static Plan plan(List<ExistingBlock> existing, List<Map<String, Object>> desired) {
+        int n = existing.size();
+        int m = desired.size();
+        String[] desiredSignatures = new String[m];
+        for (int j = 0; j < m; j++) {
+            desiredSignatures[j] = signature(desired.get(j));
+        }
+
+        // 1. 앞뒤로 동일한 구간은 건드리지 않음
+        int prefix = 0;
+        while (prefix < n && prefix < m && existing.get(prefix).signature().equals(desiredSignatures[prefix])) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < n - prefix && suffix < m - prefix
+                && existing.get(n - 1 - suffix).signature().equals(desiredSignatures[m - 1 - suffix])) {
+            suffix++;
+        }
+
+        // 2. 가운데 구간을 위치 순서대로 맞춰 봄
+        List<Update> updates = new ArrayList<>();
+        List<String> deletes = new ArrayList<>();
+        List<Insert> inserts = new ArrayList<>();
+        List<Map<String, Object>> pending = new ArrayList<>();
+        String anchor = prefix > 0 ? existing.get(prefix - 1).id() : null;
+
+        int oldEnd = n - suffix;
+        int newEnd = m - suffix;
+        int i = prefix;
+        int j = prefix;
+        while (j < newEnd) {
+            Map<String, Object> block = desired.get(j);
+            if (i < oldEnd && existing.get(i).type().equals(block.get("type"))) {
+                if (!pending.isEmpty()) {
+                    if (anchor == null) {
+                        return rewrite(existing, desired);
+                    }
+                    inserts.add(new Insert(anchor, pending));
+                    pending = new ArrayList<>();
+                }
+                if (!existing.get(i).signature().equals(desiredSignatures[j])) {
+                    updates.add(new Update(existing.get(i).id(), block));
+                }
+                anchor = existing.get(i).id();
+                i++;
+            } else {
+                if (i < oldEnd) {
+                    deletes.add(existing.get(i).id());
+                    i++;
+                }
+                pending.add(block);
+            }
+            j++;
+        }
+        while (i < oldEnd) {
+            deletes.add(existing.get(i).id());
+            i++;
+        }
+        if (!pending.isEmpty()) {
+            if (anchor == null) {
+                return rewrite(existing, desired);
+            }
+            inserts.add(new Insert(anchor, pending));
+        }
+
+        return new Plan(updates, deletes, inserts);
+    }
+
+    private static Plan rewrite(List<ExistingBlock> existing, List<Map<String, Object>> desired) {
+        List<String> deletes = existing.stream().map(ExistingBlock::id).toList();
+        List<Insert> inserts = desired.isEmpty() ? List.of() : List.of(new Insert(null, desired));
+        return new Plan(List.of(), deletes, inserts);
+    }
+
+    /**
+     * Notion API 가 돌려준 block 을 비교용 형태로 바꾼다.
+     */
+    public static ExistingBlock existing(JsonNode node) {
+        String type = node.path("type").asText();
+        JsonNode body = node.path(type);
+
+        SignatureBuilder signature = new SignatureBuilder(type);
+        JsonNode richText = body.path("rich_text");
+        for (int k = 0; k < richText.size(); k++) {
+            JsonNode segment = richText.get(k);
+            String content = "text".equals(segment.path("type").asText())
+                    ? segment.path("text").path("content").asText()
+                    : segment.path("plain_text").asText();
+            JsonNode annotations = segment.path("annotations");
+            JsonNode url = segment.path("text").path("link").path("url");
+            signature.add(annotations.path("bold").asBoolean(),
+                    annotations.path("italic").asBoolean(),
+                    annotations.path("code").asBoolean(),
+                    url.isMissingNode() ? "" : url.asText(),
+                    content);
+        }
+        if ("code".equals(type)) {
+            signature.language(body.path("language").asText());
+        }
+
+        return new ExistingBlock(node.path("id").asText(), type, signature.build());
+    }
+
+    /**
+     * NotionMarkdownConverter 가 만든 block 의 비교용 문자열.
+     * 서식이 같은 조각이 이어지면 하나로 합쳐서, 조각을 나눈 위치가 달라도 같은 내용으로 본다.
+     */
+    @SuppressWarnings("unchecked")
+    public static String signature(Map<String, Object> block) {
+        String type = (String) block.get("type");
+        Map<String, Object> body = (Map<String, Object>) block.get(type);
+
+        SignatureBuilder signature = new SignatureBuilder(type);
+        List<Map<String, Object>> richText = (List<Map<String, Object>>) body.getOrDefault("rich_text", List.of());
+        for (Map<String, Object> segment : richText) {
+            Map<String, Object> text = (Map<String, Object>) segment.get("text");
+            Map<String, Object> annotations = (Map<String, Object>) segment.getOrDefault("annotations", Map.of());
+            Map<String, Object> link = (Map<String, Object>) text.get("link");
+            signature.add(Boolean.TRUE.equals(annotations.get("bold")),
+                    Boolean.TRUE.equals(annotations.get("italic")),
+                    Boolean.TRUE.equals(annotations.get("code")),
+                    link == null ? "" : (String) link.get("url"),
+                    (String) text.get("content"));
+        }
+        if ("code".equals(type)) {
+            signature.language((String) body.get("language"));
+        }
+        return signature.build();
+    }
+
+    private static final class SignatureBuilder {
+        private final StringBuilder sb;
+        private String lastStyle;
+
+        private SignatureBuilder(String type) {
+            this.sb = new StringBuilder(type);
+        }
+
+        private void add(boolean bold, boolean italic, boolean code, String url, String content) {
+            String style = (bold ? "b" : "") + (italic ? "i" : "") + (code ? "c" : "") + url;
+            if (!style.equals(lastStyle)) {
+                sb.append('\u0001').append(style).append('\u0002');
+                lastStyle = style;
+            }
+            sb.append(content);
+        }
+
+        private void language(String language) {
+            sb.append('\u0003').append(language);
+        }
+
+        private String build() {
+            return sb.toString();
+        }
+    }
+}
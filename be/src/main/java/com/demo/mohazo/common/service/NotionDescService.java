@@ -1,26 +1,45 @@
 package com.demo.mohazo.common.service;
 
-import com.demo.mohazo.common.repository.TeamRepository;
 import com.demo.mohazo.meeting.entity.Meeting;
+import com.demo.mohazo.meeting.repository.MeetingContentRepository;
 import com.demo.mohazo.meeting.repository.MeetingRepository;
 import com.demo.mohazo.common.entity.Team;
-import jakarta.transaction.Transactional;
+import com.demo.mohazo.common.util.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 @Service
 @RequiredArgsConstructor
 public class NotionDescService {
     private final MeetingRepository meetingRepository;
-    private final TeamRepository teamRepository;
+    private final MeetingContentRepository meetingContentRepository;
+    private final TeamContextResolver teamContextResolver;
     private final NotionService notionService;
 
-    @Transactional
-    public void exportDescToNotion(Long meetingId) {
+    // 같은 (meeting, team) 의 export 가 진행 중이면 새로 실행하지 않고 그 결과를 같이 기다림 (중복 클릭 시 Notion 내용 중복 방지)
+    // team 이 다르면 다른 Notion token / workspace 로 보내는 요청이므로 합치지 않음
+    private final SingleFlight<ExportKey, Void> exports = new SingleFlight<>();
+
+    public void exportDescToNotion(Long meetingId, Long teamId) {
+        exportDescToNotionAsync(meetingId, teamId).block();
+    }
+
+    public Mono<Void> exportDescToNotionAsync(Long meetingId, Long teamId) {
+        // DB 조회/검증(blocking)은 boundedElastic 에서, Notion 호출은 non-blocking 으로 이어서 실행
+        return exports.executeAsync(new ExportKey(meetingId, teamId), () -> Mono.fromCallable(() -> loadDescExport(meetingId, teamId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(export -> notionService.updatePageWithTitleAndMarkdownAsync(
+                        export.notionPageUrlDesc(), export.title(), export.script(), export.team())));
+    }
+
+    private DescExport loadDescExport(Long meetingId, Long teamId) {
         Meeting meeting = meetingRepository.findById(meetingId)
         .orElseThrow(() -> new RuntimeException("Meeting not found"));
 
-        String script = meeting.getScript();
+        // 본문은 meeting_content 에서 script 컬럼만 읽음
+        String script = meetingContentRepository.findScriptByMeetingId(meetingId).orElse(null);
         if (script == null || script.isEmpty()) {
             throw new RuntimeException("Script not found");
         }
@@ -30,17 +49,15 @@ public class NotionDescService {
             throw new RuntimeException("Page URL not found");
         }
 
-        Team team = teamRepository.findById(1L)
-                .orElseThrow(() -> new RuntimeException("Team not found"));
-
-
-        String notionSecretKey = team.getNotionKey();
-        if (notionSecretKey == null || notionSecretKey.isEmpty()) {
-            throw new RuntimeException("Notion secret key not found");
-        }
+        // notionKey 검증은 resolver 가 캐시에 넣기 전에 수행
+        Team team = teamContextResolver.resolve(teamId);
 
         String title = meeting.getTitle();
 
-        notionService.updatePageWithTitleAndMarkdown(notionPageUrlDesc, title, script, notionSecretKey);
+        return new DescExport(notionPageUrlDesc, title, script, team);
     }
-}
\ No newline at end of file
+
+    private record ExportKey(Long meetingId, Long teamId) {}
+
+    private record DescExport(String notionPageUrlDesc, String title, String script, Team team) {}
+}
@@ -0,0 +1,423 @@
+package com.demo.mohazo.common.service;
+
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Markdown 텍스트를 Notion block 으로 변환한다.
+ * 입력을 앞에서부터 한 번만 훑으면서 block 을 하나씩 만들어 내므로 (정규식 / split 없음)
+ * 긴 AI 스크립트도 전체 block 목록을 메모리에 올리지 않고 스트리밍으로 변환할 수 있다.
+ *
+ * 지원: # / ## / ### 제목, ---, - * + 목록, 1. 번호 목록, > 인용, ``` 코드 블록,
+ * **굵게**, *기울임*, `인라인 코드`, [링크](https://...)
+ */
+@Component
+public class NotionMarkdownConverter {
+
+    // Notion rich_text 한 조각의 최대 길이
+    static final int MAX_TEXT_LENGTH = 2000;
+    // block 하나에 넣을 수 있는 rich_text 조각 수
+    static final int MAX_RICH_TEXT_SEGMENTS = 100;
+
+    private static final String DEFAULT_LANGUAGE = "plain text";
+    private static final Set<String> CODE_LANGUAGES = Set.of(
+            "bash", "c", "c++", "css", "go", "html", "java", "javascript", "json", "kotlin",
+            "markdown", "python", "rust", "shell", "sql", "typescript", "xml", "yaml");
+    private static final Map<String, String> LANGUAGE_ALIASES = Map.of(
+            "js", "javascript", "ts", "typescript", "py", "python", "sh", "shell",
+            "yml", "yaml", "md", "markdown", "cpp", "c++", "kt", "kotlin");
+
+    public Flux<Map<String, Object>> convert(CharSequence markdown) {
+        return Flux.fromIterable(() -> blocks(markdown));
+    }
+
+    public Iterator<Map<String, Object>> blocks(CharSequence markdown) {
+        return new BlockIterator(markdown);
+    }
+
+    public List<Map<String, Object>> richText(CharSequence text) {
+        return new InlineParser(text.toString()).parse();
+    }
+
+    private final class BlockIterator implements Iterator<Map<String, Object>> {
+        private final CharSequence input;
+        private int pos;
+        private Map<String, Object> next;
+        // rich_text 가 많은 block 을 나눈 나머지 block
+        private final Deque<Map<String, Object>> pending = new ArrayDeque<>();
+
+        private BlockIterator(CharSequence input) {
+            this.input = input;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = readBlock();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map<String, Object> block = next;
+            next = null;
+            return block;
+        }
+
+        // 줄 단위로 읽기. 실제 줄바꿈과 문자열 "\n"(백슬래시 + n) 모두 줄 끝으로 취급
+        private String readLine() {
+            int n = input.length();
+            if (pos >= n) {
+                return null;
+            }
+
+            int start = pos;
+            int end = n;
+            int i = pos;
+            pos = n;
+            while (i < n) {
+                char c = input.charAt(i);
+                if (c == '\n') {
+                    end = i;
+                    pos = i + 1;
+                    break;
+                }
+                if (c == '\\' && i + 1 < n && input.charAt(i + 1) == 'n') {
+                    end = i;
+                    pos = i + 2;
+                    break;
+                }
+                i++;
+            }
+            if (end > start && input.charAt(end - 1) == '\r') {
+                end--;
+            }
+            return input.subSequence(start, end).toString();
+        }
+
+        private Map<String, Object> readBlock() {
+            if (!pending.isEmpty()) {
+                return pending.poll();
+            }
+
+            String line = readLine();
+            if (line == null) {
+                return null;
+            }
+
+            String trimmed = line.strip();
+            if (trimmed.isEmpty()) {
+                return textBlock("paragraph", List.of());
+            }
+
+            // Code block: ```lang ... ```
+            if (trimmed.startsWith("```")) {
+                return readCodeBlock(trimmed.substring(3).strip());
+            }
+
+            // Heading: # / ## / ### (#### 이상은 heading_3)
+            if (trimmed.charAt(0) == '#') {
+                int level = 0;
+                while (level < trimmed.length() && trimmed.charAt(level) == '#') {
+                    level++;
+                }
+                if (level <= 6 && level < trimmed.length() && trimmed.charAt(level) == ' ') {
+                    String type = "heading_" + Math.min(level, 3);
+                    return cappedTextBlock(type, richText(trimmed.substring(level + 1)));
+                }
+            }
+
+            // Divider: --- (3개 이상)
+            if (isDivider(trimmed)) {
+                return Map.of(
+                        "object", "block",
+                        "type", "divider",
+                        "divider", Map.of()
+                );
+            }
+
+            // Bulleted list: - / * / +
+            if (trimmed.length() > 1 && trimmed.charAt(1) == ' '
+                    && (trimmed.charAt(0) == '-' || trimmed.charAt(0) == '*' || trimmed.charAt(0) == '+')) {
+                return cappedTextBlock("bulleted_list_item", richText(trimmed.substring(2)));
+            }
+
+            // Numbered list: 1. 항목
+            int digits = 0;
+            while (digits < trimmed.length() && Character.isDigit(trimmed.charAt(digits))) {
+                digits++;
+            }
+            if (digits > 0 && digits + 1 < trimmed.length()
+                    && trimmed.charAt(digits) == '.' && trimmed.charAt(digits + 1) == ' ') {
+                return cappedTextBlock("numbered_list_item", richText(trimmed.substring(digits + 2)));
+            }
+
+            // Quote: > 인용
+            if (trimmed.startsWith("> ")) {
+                return cappedTextBlock("quote", richText(trimmed.substring(2)));
+            }
+
+            return cappedTextBlock("paragraph", richText(line));
+        }
+
+        private Map<String, Object> readCodeBlock(String info) {
+            StringBuilder code = new StringBuilder();
+            String line;
+            while ((line = readLine()) != null && !line.strip().startsWith("```")) {
+                if (!code.isEmpty()) {
+                    code.append('\n');
+                }
+                code.append(line);
+            }
+
+            // rich_text 가 100 조각(20만 자)을 넘으면 같은 language 의 코드 블록 여러 개로 나눔
+            String language = codeLanguage(info);
+            return capped(plainText(code), segments -> codeBlock(segments, language));
+        }
+
+        // 긴 줄이나 서식이 많이 바뀌는 줄도 rich_text 가 100 조각을 넘으면 같은 type 의 block 여러 개로 나눔
+        private Map<String, Object> cappedTextBlock(String type, List<Map<String, Object>> richText) {
+            return capped(richText, segments -> textBlock(type, segments));
+        }
+
+        // Notion 은 block 하나에 rich_text 100 조각까지만 받으므로 첫 100 조각의 block 을 돌려주고 나머지는 pending 에 넣음
+        private Map<String, Object> capped(List<Map<String, Object>> richText,
+                                           Function<List<Map<String, Object>>, Map<String, Object>> block) {
+            for (int from = MAX_RICH_TEXT_SEGMENTS; from < richText.size(); from += MAX_RICH_TEXT_SEGMENTS) {
+                pending.add(block.apply(richText.subList(from, Math.min(from + MAX_RICH_TEXT_SEGMENTS, richText.size()))));
+            }
+            return block.apply(richText.subList(0, Math.min(MAX_RICH_TEXT_SEGMENTS, richText.size())));
+        }
+    }
+
+    private static boolean isDivider(String trimmed) {
+        if (trimmed.length() < 3) {
+            return false;
+        }
+        for (int i = 0; i < trimmed.length(); i++) {
+            if (trimmed.charAt(i) != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, Object> textBlock(String type, List<Map<String, Object>> richText) {
+        return Map.of(
+                "object", "block",
+                "type", type,
+                type, Map.of("rich_text", richText)
+        );
+    }
+
+    private static Map<String, Object> codeBlock(List<Map<String, Object>> richText, String language) {
+        return Map.of(
+                "object", "block",
+                "type", "code",
+                "code", Map.of(
+                        "rich_text", richText,
+                        "language", language
+                )
+        );
+    }
+
+    // 서식 없는 텍스트를 2000자 단위 rich_text 로 나눔 (코드 블록용)
+    private static List<Map<String, Object>> plainText(CharSequence text) {
+        List<Map<String, Object>> segments = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            int end = Math.min(start + MAX_TEXT_LENGTH, text.length());
+            if (end < text.length() && Character.isHighSurrogate(text.charAt(end - 1))) {
+                end--;
+            }
+            segments.add(Map.of(
+                    "type", "text",
+                    "text", Map.of("content", text.subSequence(start, end).toString())
+            ));
+            start = end;
+        }
+        return segments;
+    }
+
+    private static String codeLanguage(String info) {
+        String language = info.toLowerCase();
+        language = LANGUAGE_ALIASES.getOrDefault(language, language);
+        return CODE_LANGUAGES.contains(language) ? language : DEFAULT_LANGUAGE;
+    }
+
+    /**
+     * 한 줄의 inline 서식을 한 번 훑으면서 rich_text 조각으로 나눈다.
+     * 서식(굵게/기울임/코드/링크)이 바뀌거나 2000자가 차면 조각을 끊는다.
+     */
+    private static final class InlineParser {
+        private final String text;
+        private final List<Map<String, Object>> segments = new ArrayList<>();
+        private final StringBuilder run = new StringBuilder();
+
+        private boolean bold;
+        private boolean italic;
+        private boolean code;
+        private String link;
+        private int linkTextEnd = -1;
+        private int linkEnd = -1;
+        // 이 위치 이후로는 링크를 닫을 문자가 없으므로 다시 찾지 않음 (선형 시간 유지)
+        private int noLinkAfter = Integer.MAX_VALUE;
+        // 다음 ]( 와 짝이 되는 [ 위치. 이보다 앞의 [ 는 링크 시작이 아님 ([x] ... [y](url) 의 [x])
+        private int linkOpen = -1;
+
+        private InlineParser(String text) {
+            this.text = text;
+        }
+
+        private List<Map<String, Object>> parse() {
+            int n = text.length();
+            int i = 0;
+            while (i < n) {
+                char c = text.charAt(i);
+
+                if (link != null && i == linkTextEnd) {
+                    flush();
+                    link = null;
+                    i = linkEnd + 1;
+                    continue;
+                }
+
+                if (code) {
+                    if (c == '`') {
+                        flush();
+                        code = false;
+                    } else {
+                        append(c);
+                    }
+                    i++;
+                    continue;
+                }
+
+                if (c == '`') {
+                    flush();
+                    code = true;
+                    i++;
+                    continue;
+                }
+
+                if (c == '*' && i + 1 < n && text.charAt(i + 1) == '*') {
+                    flush();
+                    bold = !bold;
+                    i += 2;
+                    continue;
+                }
+
+                // 여는 * 는 바로 뒤가 공백이 아닐 때만 기울임으로 취급 (2 * 3 같은 식 보호)
+                if (c == '*' && (italic || (i + 1 < n && !Character.isWhitespace(text.charAt(i + 1))))) {
+                    flush();
+                    italic = !italic;
+                    i++;
+                    continue;
+                }
+
+                if (c == '[' && link == null && i < noLinkAfter && openLink(i)) {
+                    i++;
+                    continue;
+                }
+
+                append(c);
+                i++;
+            }
+            flush();
+            return segments;
+        }
+
+        // [text](url) 형식이면 링크 상태로 들어감
+        private boolean openLink(int open) {
+            if (open < linkOpen) {
+                return false;
+            }
+            int close = text.indexOf("](", open + 1);
+            if (close < 0) {
+                noLinkAfter = open;
+                return false;
+            }
+            // ]( 바로 앞의 [ 가 링크 시작. 그 전의 [ 는 일반 텍스트로 두고 짝이 되는 [ 에서 다시 확인
+            linkOpen = text.lastIndexOf('[', close - 1);
+            if (open < linkOpen) {
+                return false;
+            }
+            // url 이 http(s) / mailto 가 아니면 ) 를 찾기 전에 끝냄 (뒤의 ) 까지 반복해서 훑지 않도록)
+            int urlStart = close + 2;
+            while (urlStart < text.length() && Character.isWhitespace(text.charAt(urlStart))) {
+                urlStart++;
+            }
+            if (!(text.startsWith("http://", urlStart) || text.startsWith("https://", urlStart)
+                    || text.startsWith("mailto:", urlStart))) {
+                return false;
+            }
+
+            int end = text.indexOf(')', urlStart);
+            if (end < 0) {
+                noLinkAfter = open;
+                return false;
+            }
+
+            String url = text.substring(urlStart, end).strip();
+
+            flush();
+            link = url;
+            linkTextEnd = close;
+            linkEnd = end;
+            return true;
+        }
+
+        private void append(char c) {
+            if (run.length() >= MAX_TEXT_LENGTH
+                    || (run.length() == MAX_TEXT_LENGTH - 1 && Character.isHighSurrogate(c))) {
+                flush();
+            }
+            run.append(c);
+        }
+
+        private void flush() {
+            if (run.isEmpty()) {
+                return;
+            }
+
+            String content = run.toString();
+            run.setLength(0);
+
+            Map<String, Object> textContent = link == null
+                    ? Map.of("content", content)
+                    : Map.of("content", content, "link", Map.of("url", link));
+
+            if (!bold && !italic && !code) {
+                segments.add(Map.of("type", "text", "text", textContent));
+                return;
+            }
+
+            Map<String, Object> annotations = new HashMap<>(4);
+            if (bold) {
+                annotations.put("bold", true);
+            }
+            if (italic) {
+                annotations.put("italic", true);
+            }
+            if (code) {
+                annotations.put("code", true);
+            }
+            segments.add(Map.of("type", "text", "text", textContent, "annotations", annotations));
+        }
+    }
+}
@@ -1,193 +1,244 @@
 package com.demo.mohazo.common.service;
 
+import com.demo.mohazo.common.client.NotionClient;
+import com.demo.mohazo.common.entity.NotionAppendCheckpoint;
 import com.demo.mohazo.common.entity.Team;
-import com.demo.mohazo.common.repository.TeamRepository;
+import com.demo.mohazo.common.repository.NotionAppendCheckpointRepository;
+import com.demo.mohazo.common.util.HashUtils;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import tools.jackson.databind.JsonNode;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class NotionService {
-    private final WebClient webClient;
-    private final TeamRepository teamRepository;
+    private final NotionClient notionClient;
+    private final TeamContextResolver teamContextResolver;
+    private final NotionMarkdownConverter markdownConverter;
+    private final NotionAppendCheckpointRepository checkpointRepository;
 
-    public void updatePageWithTitleAndMarkdown(String notionPageUrlDesc, String pageTitle, String markdownContent, String notionSecretKey) {
-        updatePageTitle(notionPageUrlDesc, pageTitle, notionSecretKey);
-        addMarkdownContentToPage(notionPageUrlDesc, markdownContent, notionSecretKey);
+    // Notion 은 한 번에 최대 100개 block 까지 붙일 수 있음
+    private static final int APPEND_BATCH_SIZE = 100;
+    // diff 적용 시 동시에 보내는 update / delete 요청 수
+    private static final int DIFF_CONCURRENCY = 4;
+
+    public void updatePageWithTitleAndMarkdown(String notionPageUrlDesc, String pageTitle, String markdownContent, Team team) {
+        updatePageWithTitleAndMarkdownAsync(notionPageUrlDesc, pageTitle, markdownContent, team).block();
     }
-    
-    private void updatePageTitle(String notionPageUrlDesc, String pageTitle, String notionSecretKey) {
-        Map<String, Object> props = new HashMap<>();
-        props.put("title", List.of(Map.of("text", Map.of("content", pageTitle))));
-        
-        webClient.patch()
-            .uri("/pages/" + notionPageUrlDesc)
-            .header("Authorization", "Bearer " + notionSecretKey)
-            .header("Notion-Version", "2022-06-28")
-            .bodyValue(Map.of("properties", props))
-            .retrieve()
-            .toBodilessEntity()
-            .block();
-    }
-
-    public void addMarkdownContentToPage(String notionPageUrlDesc, String markdownContent, String notionSecretKey) {
-        // \n (백슬래시 + n)을 실제 줄바꿈 문자로 변환
-        String normalizedContent = markdownContent.replace("\\n", "\n");
-
-        String[] lines = normalizedContent.split("\n");
-        List<Map<String, Object>> children = new ArrayList<>();
-
-        for (String line : lines) {
-            if (line.trim().isEmpty()) {
-                children.add(createParagraphBlock(""));
-                continue;
-            }
-
-            Map<String, Object> block = parseMarkdownLine(line);
-            if (block != null) {
-                children.add(block);
-            }
-        }
 
-        int batchSize = 100;
-        for (int i = 0; i < children.size(); i += batchSize) {
-            int end = Math.min(i + batchSize, children.size());
-            List<Map<String, Object>> batch = children.subList(i, end);
-
-            webClient.patch()
-                .uri("/blocks/" + notionPageUrlDesc + "/children")
-                .header("Authorization", "Bearer " + notionSecretKey)
-                .header("Notion-Version", "2022-06-28")
-                .bodyValue(Map.of("children", batch))
-                .retrieve()
-                .bodyToMono(Map.class)
-                .block();
-        }
+    public Mono<Void> updatePageWithTitleAndMarkdownAsync(String notionPageUrlDesc, String pageTitle, String markdownContent, Team team) {
+        return updatePageTitleAsync(notionPageUrlDesc, pageTitle, team)
+                .then(Mono.defer(() -> syncMarkdownContentToPageAsync(notionPageUrlDesc, markdownContent, team)));
     }
 
-    private Map<String, Object> parseMarkdownLine(String line) {
-        String trimmed = line.trim();
-        
-        // Heading 1: # 제목
-        if (trimmed.startsWith("# ")) {
-            return createHeading1Block(trimmed.substring(2));
-        }
-        
-        // Heading 2: ## 제목
-        if (trimmed.startsWith("## ")) {
-            return createHeading2Block(trimmed.substring(3));
-        }
-        
-        // Heading 3: ### 제목
-        if (trimmed.startsWith("### ")) {
-            return createHeading3Block(trimmed.substring(4));
-        }
-        
-        // Divider: ---
-        if (trimmed.equals("---") || trimmed.matches("^-{3,}$")) {
-            return createDividerBlock();
-        }
-        
-        // 일반 텍스트 (bold 처리 포함) - createParagraphBlockWithFormatting 사용
-        return createParagraphBlockWithFormatting(line);
+    /**
+     * 페이지의 현재 block 과 markdown 을 비교해서 달라진 부분만 update / delete / insert 한다.
+     * 같은 내용을 붙이다 중간에 실패한 checkpoint 가 있으면 diff 하지 않고 그 다음 batch 부터 이어서 붙이고,
+     * 빈 페이지(처음 내보내기)는 checkpoint 를 남기는 append 로 처리한다.
+     */
+    public Mono<Void> syncMarkdownContentToPageAsync(String notionPageUrlDesc, String markdownContent, Team team) {
+        String contentHash = HashUtils.sha256Hex(markdownContent);
+
+        return Mono.fromCallable(() -> checkpointRepository.findByPageIdAndContentHash(notionPageUrlDesc, contentHash))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(checkpoint -> checkpoint.isPresent()
+                        ? appendBatchesAsync(notionPageUrlDesc, markdownContent, team, checkpoint.get())
+                        : diffMarkdownContentAsync(notionPageUrlDesc, markdownContent, team));
     }
-    
-    private Map<String, Object> createHeading1Block(String text) {
-        return Map.of(
-            "object", "block",
-            "type", "heading_1",
-            "heading_1", Map.of("rich_text", parseRichText(text))
-        );
+
+    private Mono<Void> diffMarkdownContentAsync(String notionPageUrlDesc, String markdownContent, Team team) {
+        return listChildrenAsync(notionPageUrlDesc, team)
+                .collectList()
+                .flatMap(existing -> {
+                    if (existing.isEmpty()) {
+                        return addMarkdownContentToPageAsync(notionPageUrlDesc, markdownContent, team);
+                    }
+
+                    List<Map<String, Object>> desired = new ArrayList<>();
+                    markdownConverter.blocks(markdownContent).forEachRemaining(desired::add);
+
+                    NotionBlockDiff.Plan plan = NotionBlockDiff.plan(existing, desired);
+                    log.info("Notion page diff: pageId={}, existing={}, desired={}, updates={}, deletes={}, inserts={}",
+                            notionPageUrlDesc, existing.size(), desired.size(),
+                            plan.updates().size(), plan.deletes().size(), plan.inserts().size());
+                    return applyPlanAsync(notionPageUrlDesc, plan, team)
+                            .then(deletePageCheckpointsAsync(notionPageUrlDesc));
+                });
     }
-    
-    private Map<String, Object> createHeading2Block(String text) {
-        return Map.of(
-            "object", "block",
-            "type", "heading_2",
-            "heading_2", Map.of("rich_text", parseRichText(text))
-        );
+
+    // 페이지의 1단계 children 을 next_cursor 로 끝까지 조회
+    private Flux<NotionBlockDiff.ExistingBlock> listChildrenAsync(String notionPageUrlDesc, Team team) {
+        return listChildrenPageAsync(notionPageUrlDesc, null, team)
+                .expand(node -> node.path("has_more").asBoolean()
+                        ? listChildrenPageAsync(notionPageUrlDesc, node.path("next_cursor").asText(), team)
+                        : Mono.empty())
+                .flatMapIterable(node -> {
+                    JsonNode results = node.path("results");
+                    List<NotionBlockDiff.ExistingBlock> blocks = new ArrayList<>();
+                    for (int i = 0; i < results.size(); i++) {
+                        blocks.add(NotionBlockDiff.existing(results.get(i)));
+                    }
+                    return blocks;
+                });
     }
-    
-    private Map<String, Object> createHeading3Block(String text) {
-        return Map.of(
-            "object", "block",
-            "type", "heading_3",
-            "heading_3", Map.of("rich_text", parseRichText(text))
-        );
+
+    private Mono<JsonNode> listChildrenPageAsync(String notionPageUrlDesc, String startCursor, Team team) {
+        Map<String, Object> query = new HashMap<>();
+        query.put("page_size", APPEND_BATCH_SIZE);
+        query.put("start_cursor", startCursor);
+        return notionClient.get(team, "/blocks/{id}/children", query, notionPageUrlDesc);
     }
-    
-    private Map<String, Object> createDividerBlock() {
-        return Map.of(
-            "object", "block",
-            "type", "divider",
-            "divider", Map.of()
-        );
+
+    // update / delete 는 서로 독립적이라 동시에, insert 는 위치(after) 때문에 삭제가 끝난 뒤 순서대로 실행
+    private Mono<Void> applyPlanAsync(String notionPageUrlDesc, NotionBlockDiff.Plan plan, Team team) {
+        Flux<Void> updates = Flux.fromIterable(plan.updates())
+                .flatMap(update -> updateBlockAsync(update, team), DIFF_CONCURRENCY);
+        Flux<Void> deletes = Flux.fromIterable(plan.deletes())
+                .flatMap(blockId -> deleteBlockAsync(blockId, team), DIFF_CONCURRENCY);
+        Mono<Void> inserts = Flux.fromIterable(plan.inserts())
+                .concatMap(insert -> insertBlocksAsync(notionPageUrlDesc, insert, team))
+                .then();
+
+        return Flux.merge(updates, deletes).then(inserts);
     }
-    
-    private Map<String, Object> createParagraphBlock(String text) {
-        return Map.of(
-            "object", "block",
-            "type", "paragraph",
-            "paragraph", Map.of("rich_text", parseRichText(text))
-        );
+
+    @SuppressWarnings("unchecked")
+    private Mono<Void> updateBlockAsync(NotionBlockDiff.Update update, Team team) {
+        String type = (String) update.block().get("type");
+        return notionClient.patch(team, "/blocks/{id}",
+                Map.of(type, (Map<String, Object>) update.block().get(type)), update.blockId())
+            .then();
     }
-    
-    private Map<String, Object> createParagraphBlockWithFormatting(String text) {
-        return createParagraphBlock(text);
+
+    private Mono<Void> deleteBlockAsync(String blockId, Team team) {
+        return notionClient.delete(team, "/blocks/{id}", blockId);
+    }
+
+    // 100개씩 나눠서 붙이고, 다음 묶음은 직전에 만들어진 마지막 block 뒤에 붙임
+    private Mono<Void> insertBlocksAsync(String notionPageUrlDesc, NotionBlockDiff.Insert insert, Team team) {
+        List<List<Map<String, Object>>> chunks = new ArrayList<>();
+        for (int i = 0; i < insert.blocks().size(); i += APPEND_BATCH_SIZE) {
+            chunks.add(insert.blocks().subList(i, Math.min(i + APPEND_BATCH_SIZE, insert.blocks().size())));
+        }
+
+        AtomicReference<String> after = new AtomicReference<>(insert.afterBlockId());
+        return Flux.fromIterable(chunks)
+            .concatMap(chunk -> {
+                Map<String, Object> body = new HashMap<>();
+                body.put("children", chunk);
+                if (after.get() != null) {
+                    body.put("after", after.get());
+                }
+                return notionClient.patch(team, "/blocks/{id}/children", body, notionPageUrlDesc)
+                    .doOnNext(node -> {
+                        JsonNode results = node.path("results");
+                        if (results.size() > 0) {
+                            after.set(results.get(results.size() - 1).path("id").asText());
+                        }
+                    });
+            })
+            .then();
     }
     
-    // Rich Text 파싱 (bold, italic 등 처리)
-    private List<Map<String, Object>> parseRichText(String text) {
-        List<Map<String, Object>> richText = new ArrayList<>();
+    private Mono<Void> updatePageTitleAsync(String notionPageUrlDesc, String pageTitle, Team team) {
+        Map<String, Object> props = new HashMap<>();
+        props.put("title", List.of(Map.of("text", Map.of("content", pageTitle))));
         
-        // **bold** 처리
-        if (text.contains("**")) {
-            String[] parts = text.split("\\*\\*");
-            boolean isBold = false;
-            
-            for (String part : parts) {
-                if (part.isEmpty()) {
-                    isBold = !isBold;
-                    continue;
-                }
-                
-                Map<String, Object> textObj = new HashMap<>();
-                textObj.put("type", "text");
-                
-                Map<String, Object> textContent = new HashMap<>();
-                textContent.put("content", part);
-                textObj.put("text", textContent);
-                
-                if (isBold) {
-                    Map<String, Object> annotations = new HashMap<>();
-                    annotations.put("bold", true);
-                    textObj.put("annotations", annotations);
-                }
-                
-                richText.add(textObj);
-                isBold = !isBold;
-            }
-        } else {
-            // bold가 없는 경우
-            richText.add(Map.of(
-                "type", "text",
-                "text", Map.of("content", text)
-            ));
+        return notionClient.patch(team, "/pages/{id}", Map.of("properties", props), notionPageUrlDesc)
+            .then();
+    }
+
+    public void addMarkdownContentToPage(String notionPageUrlDesc, String markdownContent, Team team) {
+        addMarkdownContentToPageAsync(notionPageUrlDesc, markdownContent, team).block();
+    }
+
+    /**
+     * markdown 을 block 으로 바꿔 100개 단위로 페이지에 붙인다.
+     * 다음 batch 변환은 이전 batch 전송과 겹쳐서 진행되고, batch 가 성공할 때마다 checkpoint 를 남긴다.
+     * 중간에 실패한 뒤 같은 내용으로 다시 호출하면 checkpoint 다음 batch 부터 이어서 보낸다.
+     */
+    public Mono<Void> addMarkdownContentToPageAsync(String notionPageUrlDesc, String markdownContent, Team team) {
+        String contentHash = HashUtils.sha256Hex(markdownContent);
+
+        return Mono.fromCallable(() -> checkpointRepository.findByPageIdAndContentHash(notionPageUrlDesc, contentHash)
+                        .orElseGet(() -> {
+                            // 이전 내용을 보내다 남은 checkpoint 는 이어서 보낼 일이 없으므로 정리
+                            checkpointRepository.deleteOtherContents(notionPageUrlDesc, contentHash);
+                            return NotionAppendCheckpoint.builder()
+                                    .pageId(notionPageUrlDesc)
+                                    .contentHash(contentHash)
+                                    .build();
+                        }))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(checkpoint -> appendBatchesAsync(notionPageUrlDesc, markdownContent, team, checkpoint));
+    }
+
+    private Mono<Void> appendBatchesAsync(String notionPageUrlDesc, String markdownContent, Team team,
+                                          NotionAppendCheckpoint checkpoint) {
+        if (checkpoint.getAckedBatches() > 0) {
+            log.info("Notion block append 재개: pageId={}, ackedBatches={}", notionPageUrlDesc, checkpoint.getAckedBatches());
         }
-        
-        return richText;
+        return markdownConverter.convert(markdownContent)
+                .buffer(APPEND_BATCH_SIZE)
+                .skip(checkpoint.getAckedBatches())
+                // prefetch 2: 전송 중인 batch 다음 batch 까지만 미리 변환
+                .concatMap(batch -> appendChildrenAsync(notionPageUrlDesc, batch, team)
+                        .then(advanceCheckpointAsync(checkpoint)), 2)
+                .then(deleteCheckpointAsync(checkpoint));
+    }
+
+    private Mono<Void> appendChildrenAsync(String notionPageUrlDesc, List<Map<String, Object>> batch, Team team) {
+        return notionClient.patch(team, "/blocks/{id}/children", Map.of("children", batch), notionPageUrlDesc)
+            .then();
+    }
+
+    private Mono<Void> advanceCheckpointAsync(NotionAppendCheckpoint checkpoint) {
+        return Mono.fromRunnable(() -> {
+                    checkpoint.setAckedBatches(checkpoint.getAckedBatches() + 1);
+                    NotionAppendCheckpoint saved = checkpointRepository.save(checkpoint);
+                    checkpoint.setId(saved.getId());
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    // 모두 붙였으면 checkpoint 는 더 필요 없음
+    private Mono<Void> deleteCheckpointAsync(NotionAppendCheckpoint checkpoint) {
+        return Mono.fromRunnable(() -> {
+                    if (checkpoint.getId() != null) {
+                        checkpointRepository.deleteById(checkpoint.getId());
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private Mono<Void> deletePageCheckpointsAsync(String notionPageUrlDesc) {
+        return Mono.fromRunnable(() -> checkpointRepository.deleteByPage(notionPageUrlDesc))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    public String createNewPage(Long teamId) {
+        return createNewPageAsync(teamId).block();
     }
 
-    public String createNewPage() {
-        Team team = teamRepository.findById(1L)
-                .orElseThrow(() -> new RuntimeException("Team not found"));
+    public Mono<String> createNewPageAsync(Long teamId) {
+        // 캐시에 없을 때만 boundedElastic 에서 Team 을 조회
+        return teamContextResolver.resolveAsync(teamId)
+                .flatMap(this::createNewPageAsync);
+    }
 
+    private Mono<String> createNewPageAsync(Team team) {
         String parent_page_id = team.getNotionPageUrlBase();
-        String notion_token = team.getNotionKey();
 
         Map<String, Object> body = Map.of(
                 "parent", Map.of("page_id", parent_page_id),
@@ -196,14 +247,7 @@ public class NotionService {
                 )
         );
 
-        return webClient.post()
-                .uri("/pages")
-                .header("Authorization", "Bearer " + notion_token)
-                .header("Notion-Version", "2022-06-28")
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(JsonNode.class)
-                .map(node -> node.get("id").asText())
-                .block();
+        return notionClient.post(team, "/pages", body)
+                .map(node -> node.get("id").asText());
     }
 }
\ No newline at end of file
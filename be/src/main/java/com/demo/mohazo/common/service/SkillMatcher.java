@@ -0,0 +1,146 @@
+package com.demo.mohazo.common.service;
+
+import com.demo.mohazo.common.domain.Field;
+import com.demo.mohazo.user.entity.User;
+import com.demo.mohazo.works.entity.Works;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 유저의 기술 스택을 bitset 으로 색인해 두고, Works 마다 같은 Field 유저 중 점수가 가장 높은 유저를 고른다.
+ *
+ *   score = overlap 가중치 × (겹치는 스택 수) - level 가중치 × |유저 level - 작업 level| - load 가중치 × (현재 작업 수)
+ *
+ * 겹치는 스택 수는 두 bitset 의 AND 를 popcount 해서 계산하므로 유저-스택 조인 없이 메모리 안에서 끝난다.
+ * 점수가 같으면 작업 수가 적은 유저, 그것도 같으면 목록에서 앞선 유저를 고른다.
+ * 스택 bit 번호는 유저가 가진 스택만으로 정하므로 (아무도 없는 스택은 점수에 영향이 없음) bitset 이 작게 유지된다.
+ */
+public final class SkillMatcher {
+
+    public record Weights(int overlap, int level, int load) {}
+
+    private final Weights weights;
+    private final long[] stackIds; // 정렬된 stack id, 위치 = bit 번호
+    private final int words;
+    private final Map<Field, Candidates> candidatesByField = new EnumMap<>(Field.class);
+
+    /**
+     * @param users          할당 후보 유저
+     * @param userStacks     (userId, stackId)
+     * @param assignedCounts (userId, 이미 할당된 작업 수)
+     */
+    public SkillMatcher(List<User> users, List<Object[]> userStacks, List<Object[]> assignedCounts, Weights weights) {
+        this.weights = weights;
+        this.stackIds = userStacks.stream()
+                .mapToLong(row -> ((Number) row[1]).longValue())
+                .distinct()
+                .sorted()
+                .toArray();
+        this.words = Math.max(1, (stackIds.length + 63) / 64);
+
+        Map<Field, List<User>> usersByField = new EnumMap<>(Field.class);
+        for (User user : users) {
+            if (user.getField() != null) {
+                usersByField.computeIfAbsent(user.getField(), f -> new ArrayList<>()).add(user);
+            }
+        }
+
+        // userId -> (Field 후보 목록, 위치). 색인을 만들 때만 사용
+        Map<Long, Candidates> owner = new HashMap<>();
+        Map<Long, Integer> position = new HashMap<>();
+        usersByField.forEach((field, fieldUsers) -> {
+            Candidates candidates = new Candidates(fieldUsers, words);
+            candidatesByField.put(field, candidates);
+            for (int i = 0; i < fieldUsers.size(); i++) {
+                owner.put(fieldUsers.get(i).getId(), candidates);
+                position.put(fieldUsers.get(i).getId(), i);
+            }
+        });
+
+        for (Object[] row : userStacks) {
+            Long userId = ((Number) row[0]).longValue();
+            Candidates candidates = owner.get(userId);
+            if (candidates != null) {
+                int bit = Arrays.binarySearch(stackIds, ((Number) row[1]).longValue());
+                candidates.bits[position.get(userId) * words + (bit >>> 6)] |= 1L << bit;
+            }
+        }
+        for (Object[] row : assignedCounts) {
+            Long userId = ((Number) row[0]).longValue();
+            Candidates candidates = owner.get(userId);
+            if (candidates != null) {
+                candidates.loads[position.get(userId)] = ((Number) row[1]).intValue();
+            }
+        }
+    }
+
+    /**
+     * Works 에 필요한 스택 id 목록을 bitset 으로 바꾼다. 어떤 유저도 갖지 않은 스택은 무시한다.
+     */
+    public long[] bitsOf(Collection<Long> worksStackIds) {
+        long[] bits = new long[words];
+        for (Long stackId : worksStackIds) {
+            int bit = Arrays.binarySearch(stackIds, stackId);
+            if (bit >= 0) {
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * work 와 같은 Field 의 유저 중 점수가 가장 높은 유저를 고르고 그 유저의 작업 수를 1 늘린다.
+     * 해당 Field 에 유저가 없으면 null.
+     */
+    public User assign(Works work, long[] worksBits) {
+        Candidates candidates = work.getField() == null ? null : candidatesByField.get(work.getField());
+        if (candidates == null) {
+            return null;
+        }
+
+        int worksLevel = work.getLevel() == null ? 0 : work.getLevel();
+        int best = -1;
+        long bestScore = Long.MIN_VALUE;
+        for (int i = 0; i < candidates.users.length; i++) {
+            int overlap = 0;
+            int base = i * words;
+            for (int k = 0; k < words; k++) {
+                overlap += Long.bitCount(candidates.bits[base + k] & worksBits[k]);
+            }
+            long score = (long) weights.overlap() * overlap
+                    - (long) weights.level() * Math.abs(candidates.levels[i] - worksLevel)
+                    - (long) weights.load() * candidates.loads[i];
+            if (score > bestScore || (score == bestScore && candidates.loads[i] < candidates.loads[best])) {
+                best = i;
+                bestScore = score;
+            }
+        }
+
+        candidates.loads[best]++;
+        return candidates.users[best];
+    }
+
+    private static final class Candidates {
+        private final User[] users;
+        private final int[] levels;
+        private final int[] loads;
+        private final long[] bits; // 유저 i 의 bitset = bits[i * words, (i + 1) * words)
+
+        private Candidates(List<User> fieldUsers, int words) {
+            int n = fieldUsers.size();
+            this.users = fieldUsers.toArray(new User[0]);
+            this.levels = new int[n];
+            this.loads = new int[n];
+            this.bits = new long[n * words];
+            for (int i = 0; i < n; i++) {
+                levels[i] = users[i].getLevel() == null ? 0 : users[i].getLevel();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.demo.mohazo.common.service;
+
+import com.demo.mohazo.common.entity.Team;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Team 을 저장 / 수정 / 삭제하면 TeamContextResolver 캐시에서 그 팀을 비운다 (Team 의 EntityListener).
+ * flush 직후에 한 번 비우고, 트랜잭션 안이면 커밋 후에 한 번 더 비운다
+ * (커밋 전에 다른 요청이 아직 예전 값을 읽어 다시 캐시에 넣었을 수 있으므로).
+ * listener 는 EntityManagerFactory 를 만들 때 생성되므로 TeamRepository 를 쓰는 resolver 는 ObjectProvider 로 나중에 꺼낸다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamCacheInvalidator {
+
+    private final ObjectProvider<TeamContextResolver> teamContextResolver;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Team team) {
+        Long teamId = team.getId();
+        TeamContextResolver resolver = teamContextResolver.getObject();
+        resolver.invalidate(teamId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    resolver.invalidate(teamId);
+                }
+            });
+        }
+    }
+}
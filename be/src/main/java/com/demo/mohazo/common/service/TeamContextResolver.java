@@ -0,0 +1,136 @@
+package com.demo.mohazo.common.service;
+
+import com.demo.mohazo.common.entity.Team;
+import com.demo.mohazo.common.repository.TeamRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 요청의 teamid 로 Team(notionKey, notionPageUrlBase)을 찾는다.
+ * export 할 때마다 team 테이블을 조회하지 않도록 크기 제한 + TTL 이 있는 LRU 캐시에 보관하고,
+ * Team 을 저장 / 수정하면 TeamCacheInvalidator 가 invalidate 로 바로 비운다.
+ * teamid 가 없으면 notion.team.default-id (기존 동작과 같은 1번 팀)를 사용한다.
+ */
+@Slf4j
+@Component
+public class TeamContextResolver {
+
+    private final TeamRepository teamRepository;
+    private final long defaultTeamId;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    // accessOrder=true 라서 가장 오래 안 쓴 팀부터 밀려남
+    private final LinkedHashMap<Long, CachedTeam> cache;
+    // invalidate 할 때마다 올림 (cache lock 으로 보호). 조회를 시작한 뒤 바뀌었으면 읽은 값을 캐시에 넣지 않음
+    private long generation;
+
+    @Autowired
+    public TeamContextResolver(TeamRepository teamRepository,
+                               @Value("${notion.team.default-id:1}") long defaultTeamId,
+                               @Value("${notion.team.cache.max-size:256}") int maxSize,
+                               @Value("${notion.team.cache.ttl-ms:300000}") long ttlMs) {
+        this(teamRepository, defaultTeamId, maxSize, Duration.ofMillis(ttlMs), System::nanoTime);
+    }
+
+    TeamContextResolver(TeamRepository teamRepository, long defaultTeamId, int maxSize,
+                        Duration ttl, LongSupplier nanoClock) {
+        this.teamRepository = teamRepository;
+        this.defaultTeamId = defaultTeamId;
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedTeam> eldest) {
+                return size() > TeamContextResolver.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 캐시에 없거나 만료됐으면 DB 에서 읽는다 (blocking).
+     */
+    public Team resolve(Long teamId) {
+        long id = teamId != null ? teamId : defaultTeamId;
+
+        Team cached = getIfFresh(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration;
+        synchronized (cache) {
+            loadGeneration = generation;
+        }
+
+        // DB 조회는 lock 밖에서 (다른 팀 조회를 막지 않도록)
+        Team team = teamRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Team not found: " + id));
+        if (team.getNotionKey() == null || team.getNotionKey().isEmpty()) {
+            throw new RuntimeException("Notion secret key not found: team " + id);
+        }
+
+        synchronized (cache) {
+            // 조회하는 사이에 invalidate 됐으면 예전 값일 수 있으므로 이번 요청에만 쓰고 캐시에는 넣지 않음
+            if (loadGeneration == generation) {
+                cache.put(id, new CachedTeam(team, nanoClock.getAsLong() + ttlNanos));
+            }
+        }
+        return team;
+    }
+
+    /**
+     * 캐시에 있으면 바로, 없으면 boundedElastic 에서 DB 를 조회한다.
+     */
+    public Mono<Team> resolveAsync(Long teamId) {
+        Team cached = getIfFresh(teamId != null ? teamId : defaultTeamId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.fromCallable(() -> resolve(teamId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    public void invalidate(Long teamId) {
+        synchronized (cache) {
+            cache.remove(teamId != null ? teamId : defaultTeamId);
+            generation++;
+        }
+        log.info("Team 캐시 삭제: teamId={}", teamId);
+    }
+
+    public void invalidateAll() {
+        synchronized (cache) {
+            cache.clear();
+            generation++;
+        }
+        log.info("Team 캐시 전체 삭제");
+    }
+
+    private Team getIfFresh(long id) {
+        synchronized (cache) {
+            CachedTeam entry = cache.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (nanoClock.getAsLong() - entry.expiresAt() >= 0) {
+                cache.remove(id);
+                return null;
+            }
+            return entry.team();
+        }
+    }
+
+    private record CachedTeam(Team team, long expiresAt) {}
+}
@@ -0,0 +1,94 @@
+package com.demo.mohazo.common.util;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 key 로 동시에 들어온 작업을 한 번만 실행하고 결과(또는 예외)를 함께 돌려준다.
+ * 먼저 들어온 호출이 실행하고, 실행 중에 들어온 호출은 그 결과를 기다린다.
+ * 실행이 끝나면 key 를 비우므로 결과를 캐시하지는 않는다 (끝난 뒤 들어온 호출은 다시 실행).
+ * Error 로 끝나도 기다리던 호출에 전달하고 key 를 비운다 (기다리던 호출이 멈추거나 key 가 남지 않도록).
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 호출한 스레드에서 실행 (blocking). 기다리던 호출은 실행한 쪽과 같은 예외를 받는다.
+     */
+    public V execute(K key, Supplier<V> work) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return join(running);
+        }
+
+        try {
+            V value = work.get();
+            mine.complete(value);
+            return value;
+        } catch (Throwable e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 비동기 작업용. 기다리던 호출 하나가 취소돼도 공유 중인 실행은 취소되지 않는다.
+     */
+    public CompletableFuture<V> submit(K key, Supplier<? extends CompletionStage<V>> work) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return running.copy();
+        }
+
+        try {
+            work.get().whenComplete((value, e) -> {
+                inFlight.remove(key, mine);
+                if (e != null) {
+                    mine.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                } else {
+                    mine.complete(value);
+                }
+            });
+        } catch (Throwable e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+        }
+        return mine.copy();
+    }
+
+    /**
+     * Mono 작업용. 구독하는 시점에 합류하고, 먼저 구독한 쪽이 연결을 끊어도 실행은 끝까지 이어진다.
+     */
+    public Mono<V> executeAsync(K key, Supplier<Mono<V>> work) {
+        return Mono.defer(() -> Mono.fromFuture(submit(key, () -> work.get().toFuture()), true));
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
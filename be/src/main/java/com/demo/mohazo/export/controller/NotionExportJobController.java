@@ -0,0 +1,25 @@
+package com.demo.mohazo.export.controller;
+
+import com.demo.mohazo.common.dto.ApiResponse;
+import com.demo.mohazo.export.dto.NotionExportJobResponseDto;
+import com.demo.mohazo.export.service.NotionExportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/notion/jobs")
+public class NotionExportJobController {
+
+    private final NotionExportJobService notionExportJobService;
+
+    @GetMapping("/{jobid}")
+    public ResponseEntity<ApiResponse<NotionExportJobResponseDto>> getJob(@PathVariable("jobid") Long jobId) {
+        NotionExportJobResponseDto response = notionExportJobService.getJob(jobId);
+        return ResponseEntity.ok(new ApiResponse<>("notion export job successfully responded", response));
+    }
+}
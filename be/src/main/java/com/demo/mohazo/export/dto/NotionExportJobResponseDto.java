@@ -0,0 +1,35 @@
+package com.demo.mohazo.export.dto;
+
+import com.demo.mohazo.common.domain.JobStatus;
+import com.demo.mohazo.common.domain.NotionExportType;
+import com.demo.mohazo.export.entity.NotionExportJob;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class NotionExportJobResponseDto {
+    private Long jobid;
+    private NotionExportType type;
+    private Long meetingid;
+    private JobStatus status;
+    private Integer attempts;
+    private String lastError;
+    private LocalDateTime updatedAt;
+
+    public static NotionExportJobResponseDto from(NotionExportJob job) {
+        return NotionExportJobResponseDto.builder()
+                .jobid(job.getId())
+                .type(job.getType())
+                .meetingid(job.getMeetingId())
+                .status(job.getStatus())
+                .attempts(job.getAttempts())
+                .lastError(job.getLastError())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.demo.mohazo.export.entity;
+
+import com.demo.mohazo.common.domain.JobStatus;
+import com.demo.mohazo.common.domain.NotionExportType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "notion_export_job",
+        indexes = @Index(name = "idx_notion_export_job_status", columnList = "status, next_attempt_at"))
+public class NotionExportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name="type", nullable = false, length = 20)
+    private NotionExportType type;
+
+    @Column(name="meeting_id", nullable = false)
+    private Long meetingId;
+
+    @Column(name="team_id")
+    private Long teamId; // null 이면 기본 팀
+
+    @Enumerated(EnumType.STRING)
+    @Column(name="status", nullable = false, length = 10)
+    @Builder.Default
+    private JobStatus status = JobStatus.PENDING;
+
+    @Column(name="attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name="last_error", length = 1000)
+    private String lastError;
+
+    @Column(name="next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt; // 이 시각 이후에 worker가 가져감 (재시도 backoff)
+
+    @Column(name="locked_at")
+    private LocalDateTime lockedAt; // worker가 가져간 시각 (오래된 RUNNING은 재수거)
+
+    @CreationTimestamp
+    @Column(name="created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name="updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
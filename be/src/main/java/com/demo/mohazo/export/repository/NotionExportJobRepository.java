@@ -0,0 +1,43 @@
+package com.demo.mohazo.export.repository;
+
+import com.demo.mohazo.common.domain.JobStatus;
+import com.demo.mohazo.export.entity.NotionExportJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotionExportJobRepository extends JpaRepository<NotionExportJob, Long> {
+
+    // 실행 대기 중이거나, RUNNING 상태로 lease 가 만료된(worker 가 죽은) job
+    @Query("SELECT j.id FROM NotionExportJob j " +
+            "WHERE (j.status = :pending AND j.nextAttemptAt <= :now) " +
+            "OR (j.status = :running AND j.lockedAt < :staleBefore) " +
+            "ORDER BY j.id")
+    List<Long> findClaimableIds(JobStatus pending, JobStatus running,
+                                LocalDateTime now, LocalDateTime staleBefore, Pageable pageable);
+
+    // 조건부 UPDATE 로 가져가기 때문에 여러 worker(노드)가 같은 job 을 동시에 잡지 않음
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE NotionExportJob j SET j.status = :running, j.lockedAt = :now, j.attempts = j.attempts + 1 " +
+            "WHERE j.id = :id " +
+            "AND ((j.status = :pending AND j.nextAttemptAt <= :now) " +
+            "OR (j.status = :running AND j.lockedAt < :staleBefore))")
+    int claim(Long id, JobStatus pending, JobStatus running, LocalDateTime now, LocalDateTime staleBefore);
+
+    // claim 했을 때의 lockedAt / attempts 가 그대로일 때만 결과를 기록함
+    // (lease 가 만료되어 다른 worker 가 다시 가져갔다면 0 건 -> 그 worker 의 상태를 덮어쓰지 않음)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE NotionExportJob j SET j.status = :status, j.lastError = :lastError, " +
+            "j.nextAttemptAt = :nextAttemptAt, j.lockedAt = NULL, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = :running AND j.lockedAt = :lockedAt AND j.attempts = :attempts")
+    int finish(Long id, JobStatus running, LocalDateTime lockedAt, Integer attempts,
+               JobStatus status, String lastError, LocalDateTime nextAttemptAt, LocalDateTime now);
+
+}
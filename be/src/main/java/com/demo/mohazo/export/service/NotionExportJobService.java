@@ -0,0 +1,64 @@
+package com.demo.mohazo.export.service;
+
+import com.demo.mohazo.common.domain.NotionExportType;
+import com.demo.mohazo.export.dto.NotionExportJobResponseDto;
+import com.demo.mohazo.export.entity.NotionExportJob;
+import com.demo.mohazo.export.repository.NotionExportJobRepository;
+import com.demo.mohazo.works.service.WorksService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notion 내보내기 요청을 outbox(notion_export_job)에 적재한다.
+ * 실제 Notion 호출은 NotionExportWorker 가 별도 스레드에서 수행한다.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class NotionExportJobService {
+
+    private final NotionExportJobRepository jobRepository;
+    private final WorksService worksService;
+
+    @Transactional
+    public Long enqueueDescription(Long meetingId, Long teamId) {
+        return enqueue(NotionExportType.DESCRIPTION, meetingId, teamId);
+    }
+
+    // Works 할당은 batch 마다 따로 커밋됨 (assignworks 는 이 트랜잭션에 참여하지 않음).
+    // job 적재가 실패해도 할당은 남고, 다시 요청하면 새로 할당할 작업 없이 job 만 적재된다
+    @Transactional
+    public Long enqueueTaskBoard(Long meetingId, Long teamId) {
+        worksService.assignworks();
+        return enqueue(NotionExportType.TASK_BOARD, meetingId, teamId);
+    }
+
+    @Transactional
+    public Long enqueueTaskSync(Long meetingId, Long teamId) {
+        worksService.assignworks();
+        return enqueue(NotionExportType.TASK_SYNC, meetingId, teamId);
+    }
+
+    public NotionExportJobResponseDto getJob(Long jobId) {
+        NotionExportJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("invalid job id: " + jobId));
+        return NotionExportJobResponseDto.from(job);
+    }
+
+    private Long enqueue(NotionExportType type, Long meetingId, Long teamId) {
+        NotionExportJob job = jobRepository.save(NotionExportJob.builder()
+                .type(type)
+                .meetingId(meetingId)
+                .teamId(teamId)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.info("Notion export job 적재: jobId={}, type={}, meetingId={}, teamId={}", job.getId(), type, meetingId, teamId);
+        return job.getId();
+    }
+}
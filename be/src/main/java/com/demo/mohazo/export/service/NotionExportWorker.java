@@ -0,0 +1,145 @@
+package com.demo.mohazo.export.service;
+
+import com.demo.mohazo.common.domain.JobStatus;
+import com.demo.mohazo.common.service.NotionDescService;
+import com.demo.mohazo.export.entity.NotionExportJob;
+import com.demo.mohazo.export.repository.NotionExportJobRepository;
+import com.demo.mohazo.tasklist.service.TaskListNotionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * notion_export_job 테이블을 주기적으로 조회해서 worker pool 에 나눠 실행한다.
+ * 실패하면 지수 backoff 후 재시도하고, max-attempts 를 넘기면 FAILED 로 남긴다.
+ * Error(OutOfMemoryError, StackOverflowError 등)로 끝나면 재시도하지 않고 바로 FAILED 로 남긴다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notion.export.jobs.enabled", havingValue = "true", matchIfMissing = true)
+public class NotionExportWorker {
+
+    private final NotionExportJobRepository jobRepository;
+    private final NotionDescService notionDescService;
+    private final TaskListNotionService taskListNotionService;
+    private final ThreadPoolTaskExecutor executor;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration lease;
+
+    public NotionExportWorker(NotionExportJobRepository jobRepository,
+                              NotionDescService notionDescService,
+                              TaskListNotionService taskListNotionService,
+                              @Qualifier("notionExportExecutor") ThreadPoolTaskExecutor executor,
+                              @Value("${notion.export.jobs.max-attempts:5}") int maxAttempts,
+                              @Value("${notion.export.jobs.base-backoff-ms:2000}") long baseBackoffMs,
+                              @Value("${notion.export.jobs.lease-ms:600000}") long leaseMs) {
+        this.jobRepository = jobRepository;
+        this.notionDescService = notionDescService;
+        this.taskListNotionService = taskListNotionService;
+        this.executor = executor;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofMillis(baseBackoffMs);
+        this.lease = Duration.ofMillis(leaseMs);
+    }
+
+    @Scheduled(fixedDelayString = "${notion.export.jobs.poll-interval-ms:1000}")
+    public void poll() {
+        // 놀고 있는 worker 수만큼만 가져옴
+        int free = executor.getMaxPoolSize() - executor.getActiveCount()
+                - executor.getThreadPoolExecutor().getQueue().size();
+        if (free <= 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minus(lease);
+        List<Long> ids = jobRepository.findClaimableIds(JobStatus.PENDING, JobStatus.RUNNING,
+                now, staleBefore, PageRequest.of(0, free));
+
+        for (Long id : ids) {
+            if (jobRepository.claim(id, JobStatus.PENDING, JobStatus.RUNNING, now, staleBefore) == 1) {
+                executor.execute(() -> run(id));
+            }
+        }
+    }
+
+    void run(Long jobId) {
+        NotionExportJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        // claim 이 기록한 값 (끝낼 때 아직 이 worker 의 claim 인지 확인하는 데 사용)
+        LocalDateTime claimedAt = job.getLockedAt();
+        Integer claimedAttempts = job.getAttempts();
+
+        Throwable failure = null;
+        try {
+            switch (job.getType()) {
+                case DESCRIPTION -> notionDescService.exportDescToNotion(job.getMeetingId(), job.getTeamId());
+                case TASK_BOARD -> exportTaskBoard(job);
+                case TASK_SYNC -> taskListNotionService.syncTaskBoardAsync(job.getMeetingId(), job.getTeamId()).block();
+            }
+            job.setStatus(JobStatus.DONE);
+            job.setLastError(null);
+            log.info("Notion export job 완료: jobId={}, type={}, attempts={}", jobId, job.getType(), job.getAttempts());
+        } catch (Throwable e) {
+            failure = e;
+            job.setLastError(abbreviate(e.getMessage() != null ? e.getMessage() : e.getClass().getName()));
+            if (e instanceof Error) {
+                // Error 는 재시도해도 같은 결과일 가능성이 커서 바로 FAILED. lease 만료까지 RUNNING 으로 남지 않도록 결과는 기록함
+                job.setStatus(JobStatus.FAILED);
+                log.error("Notion export job 실패 (Error): jobId={}, attempts={}", jobId, job.getAttempts(), e);
+            } else if (job.getAttempts() >= maxAttempts) {
+                job.setStatus(JobStatus.FAILED);
+                log.error("Notion export job 실패 (재시도 종료): jobId={}, attempts={}", jobId, job.getAttempts(), e);
+            } else {
+                // 2^(attempts-1) * base 만큼 뒤로 미룸
+                Duration backoff = baseBackoff.multipliedBy(1L << Math.min(job.getAttempts() - 1, 10));
+                job.setStatus(JobStatus.PENDING);
+                job.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+                log.warn("Notion export job 실패, {}ms 후 재시도: jobId={}, attempts={}",
+                        backoff.toMillis(), jobId, job.getAttempts(), e);
+            }
+        }
+        job.setLockedAt(null);
+
+        // 엔티티 전체를 save 하면 그사이 다시 claim 한 worker 의 status / attempts / lockedAt 을 덮어쓰므로 조건부 UPDATE
+        int updated = jobRepository.finish(jobId, JobStatus.RUNNING, claimedAt, claimedAttempts,
+                job.getStatus(), job.getLastError(), job.getNextAttemptAt(), LocalDateTime.now());
+        if (updated == 0) {
+            log.warn("Notion export job 결과 버림 (lease 만료 후 다른 worker 가 가져감): jobId={}, attempts={}",
+                    jobId, claimedAttempts);
+        }
+        // 결과를 남긴 뒤 Error 는 다시 던짐 (SingleFlight 와 같이 삼키지 않음)
+        if (failure instanceof Error error) {
+            throw error;
+        }
+    }
+
+    // 재시도(attempts > 1)라면 이전 시도가 이미 DB 를 만들고 일부 task 를 넣었을 수 있으므로
+    // 새 DB 를 또 만들지 않고 sync 로 이어서 반영한다 (meeting 에 DB 가 없으면 sync 가 전체 내보내기를 수행)
+    private void exportTaskBoard(NotionExportJob job) {
+        if (job.getAttempts() > 1) {
+            taskListNotionService.syncTaskBoardAsync(job.getMeetingId(), job.getTeamId()).block();
+        } else {
+            taskListNotionService.exportTaskBoardAsync(job.getMeetingId(), job.getTeamId()).block();
+        }
+    }
+
+    private String abbreviate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
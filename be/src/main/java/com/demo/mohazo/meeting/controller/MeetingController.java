@@ -3,18 +3,33 @@ package com.demo.mohazo.meeting.controller;
 import com.demo.mohazo.common.controller.ApiController;
 import com.demo.mohazo.common.dto.ApiResponse;
 import com.demo.mohazo.meeting.dto.meetingListResponseDTO;
+import com.demo.mohazo.meeting.dto.meetingUploadJobResponseDTO;
 import com.demo.mohazo.meeting.dto.meetingScriptResponseDTO;
 import com.demo.mohazo.meeting.dto.meetingUploadResponseDTO;
 import com.demo.mohazo.meeting.dto.meetingUploadRequestDTO;
 import com.demo.mohazo.meeting.service.MeetingService;
+import com.demo.mohazo.meeting.service.MeetingStreamService;
+import com.demo.mohazo.meeting.service.MeetingTranscriptService;
+import com.demo.mohazo.meeting.service.MeetingUploadJobService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 
 @Validated
 @RequiredArgsConstructor
@@ -22,18 +37,73 @@ import org.springframework.web.bind.annotation.*;
 public class MeetingController extends ApiController {
 
     private final MeetingService meetingService;
+    private final MeetingUploadJobService meetingUploadJobService;
+    private final MeetingStreamService meetingStreamService;
+    private final MeetingTranscriptService meetingTranscriptService;
 
     @PostMapping("meetings")
-    public ResponseEntity<ApiResponse<meetingUploadResponseDTO>> uploadMeeting(
-            @RequestBody @Valid meetingUploadRequestDTO.beRequest req
+    public ResponseEntity<ApiResponse<Object>> uploadMeeting(
+            @RequestBody @Valid meetingUploadRequestDTO.beRequest req,
+            @RequestParam(name = "async", defaultValue = "false") boolean async
     ){
+        // async=true 이면 job 만 저장하고 바로 jobid 반환
+        // (진행 상황은 GET /api/meetings/jobs/{jobid} 또는 SSE /api/meetings/jobs/{jobid}/events)
+        if (async) {
+            Long jobId = meetingUploadJobService.enqueue(req);
+            return ResponseEntity.accepted()
+                    .body(new ApiResponse<>("meeting record upload queued", Map.of("jobid", jobId)));
+        }
+
         meetingUploadResponseDTO response = meetingService.uploadMeeting(req);
         return ResponseEntity.ok(new ApiResponse<>("meeting record uploaded", response));
     }
 
+    // AI 요약을 생성되는 대로 SSE(token 이벤트)로 받고, 저장과 Notion page 연결이 끝나면 done 이벤트로 meetingid 수신
+    @PostMapping(value = "meetings/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamMeeting(
+            @RequestBody @Valid meetingUploadRequestDTO.beRequest req
+    ) {
+        return meetingStreamService.streamMeeting(req);
+    }
+
+    // 긴 회의록(수백 KB)은 JSON 이 아니라 text/plain body 로 받아서 읽는 대로 구간 요약 (map-reduce)
+    @PostMapping(value = "meetings/transcript", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<ApiResponse<meetingUploadResponseDTO>> uploadTranscript(
+            @RequestParam("title") String title,
+            @RequestParam(name = "teamid", required = false) Long teamId,
+            HttpServletRequest request
+    ) throws IOException {
+        // charset 이 없으면 servlet 기본값(ISO-8859-1)이 아니라 UTF-8 로 읽음
+        Charset charset = request.getCharacterEncoding() != null
+                ? Charset.forName(request.getCharacterEncoding())
+                : StandardCharsets.UTF_8;
+        try (Reader transcript = new InputStreamReader(request.getInputStream(), charset)) {
+            meetingUploadResponseDTO response = meetingTranscriptService.uploadTranscript(title, teamId, transcript);
+            return ResponseEntity.ok(new ApiResponse<>("meeting transcript uploaded", response));
+        }
+    }
+
+    @GetMapping("meetings/jobs/{jobid}")
+    public ResponseEntity<ApiResponse<meetingUploadJobResponseDTO>> getUploadJob(
+            @PathVariable("jobid") Long jobId
+    ) {
+        meetingUploadJobResponseDTO response = meetingUploadJobService.getJob(jobId);
+        return ResponseEntity.ok(new ApiResponse<>("meeting upload job successfully responded", response));
+    }
+
+    @GetMapping(value = "meetings/jobs/{jobid}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeUploadJob(@PathVariable("jobid") Long jobId) {
+        return meetingUploadJobService.subscribe(jobId);
+    }
+
+    // cursor: 이전 응답의 nextCursor, size: 페이지 크기 (최대 meeting.list.max-size), title: 제목 접두어
     @GetMapping("meetings")
-    public ResponseEntity<ApiResponse<meetingListResponseDTO.meetingList>> getMeetingList() {
-        meetingListResponseDTO.meetingList response = meetingService.getMeetingList();
+    public ResponseEntity<ApiResponse<meetingListResponseDTO.meetingList>> getMeetingList(
+            @RequestParam(name = "cursor", required = false) Long cursor,
+            @RequestParam(name = "size", required = false) Integer size,
+            @RequestParam(name = "title", required = false) String title
+    ) {
+        meetingListResponseDTO.meetingList response = meetingService.getMeetingList(cursor, size, title);
 
         return ResponseEntity.ok(new ApiResponse<>("meeting list successfully responded", response));
     }
@@ -13,6 +13,7 @@ public class meetingListResponseDTO {
     @Setter
     public static class meetingList {
         private List<meetingSimple> list;
+        private Long nextCursor; // 다음 페이지 요청 시 cursor 로 전달 (마지막 페이지면 null)
     }
 
     @Builder
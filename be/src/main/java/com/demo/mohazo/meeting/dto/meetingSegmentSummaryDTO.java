@@ -0,0 +1,13 @@
+package com.demo.mohazo.meeting.dto;
+
+import lombok.*;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class meetingSegmentSummaryDTO {
+    private Integer index;
+    private String summary;
+}
@@ -0,0 +1,34 @@
+package com.demo.mohazo.meeting.dto;
+
+import com.demo.mohazo.common.domain.JobStatus;
+import com.demo.mohazo.meeting.entity.MeetingUploadJob;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class meetingUploadJobResponseDTO {
+    private Long jobid;
+    private JobStatus status;
+    private Long meetingid;
+    private String lastError;
+    private LocalDateTime updatedAt;
+
+    public static meetingUploadJobResponseDTO from(MeetingUploadJob job) {
+        return meetingUploadJobResponseDTO.builder()
+                .jobid(job.getId())
+                .status(job.getStatus())
+                .meetingid(job.getMeetingId())
+                .lastError(job.getLastError())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+
+    public boolean isFinished() {
+        return status == JobStatus.DONE || status == JobStatus.FAILED;
+    }
+}
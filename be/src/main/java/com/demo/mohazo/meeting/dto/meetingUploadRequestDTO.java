@@ -15,8 +15,13 @@ public class meetingUploadRequestDTO {
 
         @NotNull
         private String record;
+
+        private Long teamid; // Notion page 를 만들 팀 (없으면 기본 팀)
     }
 
     public record aiRequest(String title, String record) {}
 
+    // 긴 회의록의 한 구간 (/summarize)
+    public record segmentRequest(String title, String record, Integer index) {}
+
 }
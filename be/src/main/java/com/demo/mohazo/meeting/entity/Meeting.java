@@ -3,13 +3,18 @@ package com.demo.mohazo.meeting.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+// 회의록 원본(record)과 AI 요약(script)은 meeting_content 테이블(MeetingContent)에 있음
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "meeting")
+@Table(name = "meeting",
+        indexes = {
+                @Index(name = "idx_meeting_content_hash", columnList = "content_hash"),
+                @Index(name = "idx_meeting_title", columnList = "title") // 목록 title 접두어 검색
+        })
 public class Meeting {
 
     @Id
@@ -19,12 +24,6 @@ public class Meeting {
     @Column(name="title", nullable = false, length = 100)
     private String title;
 
-    @Column(name="record", nullable = false, length = 10000)
-    private String record; // 회의록(최대 10000자)
-
-    @Column(name="script", nullable = false, length = 2000)
-    private String script; // AI-generated 프로젝트 설명
-
     @Column(name="notion_page_url_desc", length = 200)
     private String notionPageUrlDesc;
 
@@ -34,6 +33,9 @@ public class Meeting {
     @Column(name="notion_database_id", length = 1000)
     private String notionDatabaseId;
 
+    @Column(name="content_hash", length = 64)
+    private String contentHash; // 정규화한 (teamid, title, record) 의 SHA-256. 같은 회의록 재업로드 판별용
+
     public void updateNotionPageUrlDesc(String value) {
         this.notionPageUrlDesc = value;
     }
@@ -0,0 +1,39 @@
+package com.demo.mohazo.meeting.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Meeting 의 큰 텍스트(회의록 원본, AI 요약)를 따로 보관하는 테이블.
+ * meeting 행을 작게 유지해서 notion_page_url / notion_database_id 만 필요한 조회가 본문까지 읽지 않도록 한다.
+ * meeting_id 가 PK 이자 FK (Meeting 과 1:1).
+ *
+ * Meeting 쪽에는 연관관계를 두지 않는다. (mappedBy 쪽 @OneToOne 은 lazy 로 동작하지 않아 Meeting 조회마다 추가 조회가 생김)
+ * 본문이 필요하면 MeetingContentRepository 로 따로 읽는다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "meeting_content")
+public class MeetingContent {
+
+    @Id
+    @Column(name = "meeting_id")
+    private Long meetingId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "meeting_id")
+    private Meeting meeting;
+
+    public static final int MAX_RECORD_LENGTH = 10000;
+
+    @Column(name="record", nullable = false, length = MAX_RECORD_LENGTH)
+    private String record; // 회의록(최대 10000자)
+
+    @Column(name="script", nullable = false, length = 2000)
+    private String script; // AI-generated 프로젝트 설명
+}
@@ -0,0 +1,59 @@
+package com.demo.mohazo.meeting.entity;
+
+import com.demo.mohazo.common.domain.JobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "meeting_upload_job",
+        indexes = @Index(name = "idx_meeting_upload_job_status", columnList = "status, locked_at"))
+public class MeetingUploadJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name="title", length = 100)
+    private String title;
+
+    @Column(name="record", nullable = false, length = 10000)
+    private String record; // 업로드된 회의록 원문 (AI 호출 전까지 보관)
+
+    @Column(name="team_id")
+    private Long teamId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name="status", nullable = false, length = 10)
+    @Builder.Default
+    private JobStatus status = JobStatus.PENDING;
+
+    @Column(name="meeting_id")
+    private Long meetingId; // DONE 이후 채워짐
+
+    @Column(name="last_error", length = 1000)
+    private String lastError;
+
+    @Column(name="locked_by", length = 36)
+    private String lockedBy; // job 을 claim 해서 실행 중인 서버 인스턴스
+
+    @Column(name="locked_at")
+    private LocalDateTime lockedAt; // claim 한 시각 (lease 가 지난 RUNNING 은 죽은 인스턴스의 job 으로 보고 실패 처리)
+
+    @CreationTimestamp
+    @Column(name="created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name="updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+}
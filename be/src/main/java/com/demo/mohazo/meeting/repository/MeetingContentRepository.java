@@ -0,0 +1,15 @@
+package com.demo.mohazo.meeting.repository;
+
+import com.demo.mohazo.meeting.entity.MeetingContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface MeetingContentRepository extends JpaRepository<MeetingContent, Long> {
+
+    // script 컬럼만 조회 (record 는 읽지 않음)
+    @Query("SELECT c.script FROM MeetingContent c WHERE c.meetingId = :meetingId")
+    Optional<String> findScriptByMeetingId(Long meetingId);
+
+}
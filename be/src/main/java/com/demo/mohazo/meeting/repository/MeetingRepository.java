@@ -1,8 +1,27 @@
 package com.demo.mohazo.meeting.repository;
 
+import com.demo.mohazo.meeting.dto.meetingListResponseDTO;
 import com.demo.mohazo.meeting.entity.Meeting;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface MeetingRepository extends JpaRepository<Meeting, Long> {
 
+    Optional<Meeting> findFirstByContentHashOrderByIdDesc(String contentHash);
+
+    // 목록에 필요한 id, title 만 조회 (record / script 는 읽지 않음)
+    // offset 대신 마지막으로 받은 id(cursor) 다음부터 읽으므로 뒤쪽 페이지도 PK 범위 조회 한 번으로 끝남
+    @Query("SELECT new com.demo.mohazo.meeting.dto.meetingListResponseDTO$meetingSimple(m.id, m.title) " +
+            "FROM Meeting m WHERE m.id > :cursor ORDER BY m.id")
+    List<meetingListResponseDTO.meetingSimple> findListPage(Long cursor, Pageable pageable);
+
+    // titlePrefix 는 LIKE 패턴 ('!' 로 escape 한 접두어 + '%')
+    @Query("SELECT new com.demo.mohazo.meeting.dto.meetingListResponseDTO$meetingSimple(m.id, m.title) " +
+            "FROM Meeting m WHERE m.id > :cursor AND m.title LIKE :titlePrefix ESCAPE '!' ORDER BY m.id")
+    List<meetingListResponseDTO.meetingSimple> findListPageByTitlePrefix(Long cursor, String titlePrefix, Pageable pageable);
+
 }
@@ -0,0 +1,37 @@
+package com.demo.mohazo.meeting.repository;
+
+import com.demo.mohazo.common.domain.JobStatus;
+import com.demo.mohazo.meeting.entity.MeetingUploadJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MeetingUploadJobRepository extends JpaRepository<MeetingUploadJob, Long> {
+
+    // 적재된 지 오래된 PENDING (적재한 인스턴스가 실행하지 못하고 죽었을 수 있음)
+    @Query("SELECT j.id FROM MeetingUploadJob j WHERE j.status = :pending AND j.createdAt < :createdBefore ORDER BY j.id")
+    List<Long> findPendingIds(JobStatus pending, LocalDateTime createdBefore);
+
+    // lease 가 만료된 RUNNING (실행하던 인스턴스가 죽었음)
+    @Query("SELECT j FROM MeetingUploadJob j WHERE j.status = :running AND j.lockedAt < :staleBefore")
+    List<MeetingUploadJob> findExpired(JobStatus running, LocalDateTime staleBefore);
+
+    // 조건부 UPDATE 로 가져가기 때문에 여러 인스턴스에 제출된 같은 job 도 한 곳에서만 실행됨
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MeetingUploadJob j SET j.status = :running, j.lockedBy = :owner, j.lockedAt = :now, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = :pending")
+    int claim(Long id, JobStatus pending, JobStatus running, String owner, LocalDateTime now);
+
+    // claim 한 owner / lockedAt 이 그대로일 때만 결과를 기록함 (그사이 만료 처리된 job 은 덮어쓰지 않음)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MeetingUploadJob j SET j.status = :status, j.meetingId = :meetingId, j.lastError = :lastError, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = :running AND j.lockedBy = :owner AND j.lockedAt = :lockedAt")
+    int finish(Long id, JobStatus running, String owner, LocalDateTime lockedAt,
+               JobStatus status, Long meetingId, String lastError, LocalDateTime now);
+}
@@ -0,0 +1,57 @@
+package com.demo.mohazo.meeting.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+/**
+ * meeting.record / meeting.script 컬럼이 남아 있는 DB(분리 이전 스키마)를 meeting_content 로 옮긴다.
+ * ddl-auto 는 컬럼을 지우지 않으므로 시작할 때 한 번 확인해서
+ * 1) meeting_content 에 없는 행을 복사하고 2) 모두 옮겨졌을 때만 meeting 의 두 컬럼을 삭제한다.
+ * 이미 옮겨진 DB 에서는 컬럼이 없으므로 아무것도 하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MeetingContentMigration {
+
+    private static final String NOT_MIGRATED =
+            "FROM meeting m WHERE NOT EXISTS (SELECT 1 FROM meeting_content c WHERE c.meeting_id = m.id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!hasColumn("meeting", "record")) {
+            return;
+        }
+
+        int copied = jdbcTemplate.update("INSERT INTO meeting_content (meeting_id, record, script) " +
+                "SELECT m.id, COALESCE(m.record, ''), COALESCE(m.script, '') " + NOT_MIGRATED);
+        Integer remaining = jdbcTemplate.queryForObject("SELECT COUNT(*) " + NOT_MIGRATED, Integer.class);
+        log.info("meeting_content 이관: copied={}, remaining={}", copied, remaining);
+
+        if (remaining != null && remaining == 0) {
+            jdbcTemplate.execute("ALTER TABLE meeting DROP COLUMN record");
+            jdbcTemplate.execute("ALTER TABLE meeting DROP COLUMN script");
+            log.info("meeting.record / meeting.script 컬럼 삭제 완료");
+        }
+    }
+
+    private boolean hasColumn(String table, String column) {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, column)) {
+                return columns.next();
+            }
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
@@ -0,0 +1,113 @@
+package com.demo.mohazo.meeting.service;
+
+import com.demo.mohazo.common.util.HashUtils;
+import com.demo.mohazo.common.util.SingleFlight;
+import com.demo.mohazo.meeting.repository.MeetingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 같은 팀이 같은 회의록(제목 + 내용)을 다시 올리면 AI 를 다시 호출하지 않고 이미 만든 meetingid 를 돌려준다.
+ * (meeting 의 Notion page 는 팀의 workspace 에 만들어지므로 다른 팀의 결과는 재사용하지 않음)
+ * - 1차: 메모리 LRU (content hash -> meetingid)
+ * - 2차: meeting.content_hash (재시작 후에도 유지)
+ * - 같은 hash 로 동시에 들어온 요청은 먼저 들어온 요청의 결과를 함께 기다린다 (AI 호출 1번)
+ */
+@Slf4j
+@Component
+public class MeetingResultCache {
+
+    private final MeetingRepository meetingRepository;
+    private final int maxSize;
+    private final LinkedHashMap<String, Long> cache;
+    private final SingleFlight<String, Long> uploads = new SingleFlight<>();
+
+    public MeetingResultCache(MeetingRepository meetingRepository,
+                              @Value("${meeting.upload.cache.max-size:1000}") int maxSize) {
+        this.meetingRepository = meetingRepository;
+        this.maxSize = Math.max(1, maxSize);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > MeetingResultCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * 공백 / 줄바꿈 / 유니코드 정규화 차이는 같은 회의록으로 본다. teamid 가 다르면 다른 hash.
+     */
+    public static String contentHash(Long teamId, String title, String record) {
+        String team = teamId == null ? "" : teamId.toString();
+        return HashUtils.sha256Hex(team + '\0' + normalize(title) + '\0' + normalize(record));
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String nfc = Normalizer.normalize(text, Normalizer.Form.NFC);
+        StringBuilder sb = new StringBuilder(nfc.length());
+        boolean space = false;
+        for (int i = 0; i < nfc.length(); i++) {
+            char c = nfc.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                space = true;
+                continue;
+            }
+            if (space && !sb.isEmpty()) {
+                sb.append(' ');
+            }
+            space = false;
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    public Long find(String contentHash) {
+        synchronized (cache) {
+            Long meetingid = cache.get(contentHash);
+            if (meetingid != null) {
+                return meetingid;
+            }
+        }
+
+        Long meetingid = meetingRepository.findFirstByContentHashOrderByIdDesc(contentHash)
+                .map(meeting -> meeting.getId())
+                .orElse(null);
+        if (meetingid != null) {
+            put(contentHash, meetingid);
+        }
+        return meetingid;
+    }
+
+    public void put(String contentHash, Long meetingid) {
+        synchronized (cache) {
+            cache.put(contentHash, meetingid);
+        }
+    }
+
+    /**
+     * 캐시에 있으면 바로 반환, 같은 hash 를 처리 중인 요청이 있으면 그 결과를 기다리고,
+     * 둘 다 아니면 upload 를 실행한다. 실패한 결과는 캐시하지 않는다.
+     */
+    public Long getOrUpload(String contentHash, Supplier<Long> upload) {
+        Long cached = find(contentHash);
+        if (cached != null) {
+            log.info("회의록 캐시 적중: hash={}, meetingid={}", contentHash, cached);
+            return cached;
+        }
+
+        return uploads.execute(contentHash, () -> {
+            Long meetingid = upload.get();
+            put(contentHash, meetingid);
+            return meetingid;
+        });
+    }
+}
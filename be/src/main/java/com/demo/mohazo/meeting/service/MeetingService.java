@@ -2,25 +2,40 @@ package com.demo.mohazo.meeting.service;
 
 import com.demo.mohazo.common.dto.ApiResponse;
 import com.demo.mohazo.common.service.NotionService;
+import com.demo.mohazo.common.util.SingleFlight;
 import com.demo.mohazo.meeting.dto.meetingListResponseDTO;
 import com.demo.mohazo.meeting.dto.meetingScriptResponseDTO;
 import com.demo.mohazo.meeting.dto.meetingUploadRequestDTO;
 import com.demo.mohazo.meeting.dto.meetingUploadResponseDTO;
 import com.demo.mohazo.meeting.entity.Meeting;
+import com.demo.mohazo.meeting.repository.MeetingContentRepository;
 import com.demo.mohazo.meeting.repository.MeetingRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 import tools.jackson.databind.ObjectMapper;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @Service
@@ -31,12 +46,124 @@ public class MeetingService {
     private final RestClient fastApiRestClient;
     private final MeetingRepository meetingRepository;
     private final NotionService notionService;
+    private final ThreadPoolTaskExecutor meetingStageExecutor;
+    private final MeetingResultCache meetingResultCache;
+    private final MeetingContentRepository meetingContentRepository;
     @Autowired ObjectMapper objectMapper;
+    @Value("${meeting.list.default-size:20}") int defaultListSize;
+    @Value("${meeting.list.max-size:100}") int maxListSize;
 
-    @Transactional
+    // 같은 meetingid 로 동시에 들어온 조회는 DB 를 한 번만 읽음
+    private final SingleFlight<Long, meetingScriptResponseDTO> scriptReads = new SingleFlight<>();
+
+    /**
+     * AI / Notion 호출은 수십 초가 걸리므로 트랜잭션(DB 커넥션)을 잡지 않고 실행하고,
+     * 마지막 notion_page_url_desc 저장만 짧게 반영한다.
+     *
+     * 단계 의존 관계:
+     *   AI(/generate) --> Meeting 조회 --+
+     *   Notion page 생성 ----------------+--> notion_page_url_desc 저장
+     * AI 와 Notion 은 서로 독립이라 동시에 실행하므로 전체 시간은 대략 max(AI, Notion) 이 된다.
+     * 한 단계가 실패하면 나머지 단계는 interrupt 로 취소하고 처음 실패한 원인을 그대로 던진다.
+     * (AI 가 실패했을 때 이미 만들어진 Notion page 는 빈 페이지로 남는다)
+     * 단, AI 단계는 취소하지 않는다. interrupt 로 /generate 응답을 버려도 FastAPI 는 meeting 행을 저장할 수 있어서
+     * 그 id 를 알 수 없게 되기 때문. Notion 단계가 실패하면 AI 응답을 끝까지 받아서
+     * Notion page 없이 남은 meetingid 를 warn 로그로 남긴다 (notion_page_url_desc / content_hash 가 null 인 행으로 정리 대상).
+     *
+     * 같은 회의록(정규화한 title + record 의 hash)을 다시 올리면 AI 를 호출하지 않고 기존 meetingid 를 돌려준다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public meetingUploadResponseDTO uploadMeeting(meetingUploadRequestDTO.beRequest req){
         log.info("회의록 업로드 요청 수신: title={}", req.getTitle());
 
+        String contentHash = MeetingResultCache.contentHash(req.getTeamid(), req.getTitle(), req.getRecord());
+        Long meetingid = meetingResultCache.getOrUpload(contentHash, () -> upload(req, contentHash));
+
+        // 6. meetingid와 함께 FE로 응답
+        return new meetingUploadResponseDTO(meetingid);
+    }
+
+    private Long upload(meetingUploadRequestDTO.beRequest req, String contentHash) {
+        long start = System.nanoTime();
+
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        List<CompletableFuture<?>> stages = new ArrayList<>();
+
+        CompletableFuture<Long> ai = runStage("ai", () -> generateMeeting(req));
+        CompletableFuture<String> notion = runStage("notion", () -> createNotionPage(req.getTeamid()));
+        CompletableFuture<Meeting> lookup = ai.thenCompose(meetingid -> runStage("lookup", () -> findMeeting(meetingid)));
+        stages.add(ai);
+        stages.add(notion);
+        stages.add(lookup);
+
+        // 어느 단계든 실패하면 나머지를 취소 (AI 단계는 제외)
+        for (CompletableFuture<?> stage : stages) {
+            stage.whenComplete((value, e) -> {
+                if (e != null && firstFailure.compareAndSet(null, unwrap(e))) {
+                    stages.stream().filter(other -> other != ai).forEach(other -> other.cancel(true));
+                }
+            });
+        }
+
+        Meeting meeting;
+        String notionPageUrlDesc;
+        try {
+            meeting = lookup.join();
+            notionPageUrlDesc = notion.join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = firstFailure.get() != null ? firstFailure.get() : unwrap(e);
+            // AI 가 meeting 행을 만들었다면 (이미 끝났거나 나중에 끝나면) 연결되지 않은 id 를 남김
+            ai.thenAccept(meetingid -> log.warn(
+                    "회의록 업로드 실패로 Notion page 없이 남은 meeting: meetingid={}, cause={}", meetingid, cause.toString()));
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+
+        long attachStart = System.nanoTime();
+        attachNotionPage(meeting, notionPageUrlDesc, contentHash);
+        log.info("업로드 단계 완료: stage=attach, {}ms", elapsedMs(attachStart));
+
+        log.info("회의록 업로드 완료: meetingid={}, total={}ms", meeting.getId(), elapsedMs(start));
+        return meeting.getId();
+    }
+
+    // 단계를 meetingStageExecutor 에서 실행. 취소되면 실행 중인 스레드를 interrupt 해서 blocking 호출을 끊음
+    private <T> CompletableFuture<T> runStage(String stage, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> running = meetingStageExecutor.submit(() -> {
+            long start = System.nanoTime();
+            try {
+                result.complete(task.call());
+                log.info("업로드 단계 완료: stage={}, {}ms", stage, elapsedMs(start));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+                log.warn("업로드 단계 실패: stage={}, {}ms", stage, elapsedMs(start));
+            }
+        });
+        result.whenComplete((value, e) -> {
+            if (result.isCancelled()) {
+                running.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    // 1~3. AI API 로 스크립트 생성 (FastAPI 가 meeting 행을 저장하고 meetingid 를 돌려줌)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Long generateMeeting(meetingUploadRequestDTO.beRequest req) {
         // 1. AI API 호출 준비
         meetingUploadRequestDTO.aiRequest aireq = new meetingUploadRequestDTO.aiRequest(req.getTitle(), req.getRecord());
         String json;
@@ -77,48 +204,79 @@ public class MeetingService {
         // 3. 성공하면 meetingid와 함께 응답이 옴
         Long meetingid = airesponse.getData().getMeetingid();
         log.info("생성된 meetingid: {}", meetingid);
+        return meetingid;
+    }
 
-        // 4. Notion API로 Notion page 생성
-        String notionPageUrlDesc;
+    // 4. Notion API로 Notion page 생성
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public String createNotionPage(Long teamId) {
         try {
             log.info("Notion page 생성 시작");
-            notionPageUrlDesc = notionService.createNewPage();
+            String notionPageUrlDesc = notionService.createNewPage(teamId);
             log.info("Notion page 생성 성공: pageId={}", notionPageUrlDesc);
+            return notionPageUrlDesc;
         } catch (Exception e) {
             log.error("Notion page 생성 실패", e);
             throw new IllegalStateException("Notion page 생성에 실패했습니다: " + e.getMessage(), e);
         }
+    }
+
+    // 5. DB에 'notion_page_url_desc' 필드 채우기
+    // contentHash 는 Notion page 까지 연결된 뒤에 저장해서, 캐시 적중 = 업로드 완료가 되도록 함
+    @Transactional
+    public void attachNotionPage(Long meetingid, String notionPageUrlDesc, String contentHash) {
+        attachNotionPage(findMeeting(meetingid), notionPageUrlDesc, contentHash);
+    }
 
-        // 5. DB에 'notion_page_url_desc' 필드 채우기
-        Meeting meeting = meetingRepository.findById(meetingid)
+    private void attachNotionPage(Meeting meeting, String notionPageUrlDesc, String contentHash) {
+        meeting.updateNotionPageUrlDesc(notionPageUrlDesc);
+        meeting.setContentHash(contentHash);
+        // 같은 클래스 안에서 호출되면 트랜잭션 프록시를 거치지 않으므로 명시적으로 저장
+        meetingRepository.save(meeting);
+        log.info("DB 업데이트 완료: meetingid={}, notionPageUrlDesc={}", meeting.getId(), notionPageUrlDesc);
+    }
+
+    private Meeting findMeeting(Long meetingid) {
+        return meetingRepository.findById(meetingid)
                 .orElseThrow(() -> {
                     log.error("Meeting을 찾을 수 없습니다: meetingid={}", meetingid);
                     return new EntityNotFoundException("invalid meeting id: " + meetingid);
                 });
-        meeting.updateNotionPageUrlDesc(notionPageUrlDesc);
-        log.info("DB 업데이트 완료: meetingid={}, notionPageUrlDesc={}", meetingid, notionPageUrlDesc);
+    }
 
-        // 6. meetingid와 함께 FE로 응답
-        log.info("회의록 업로드 완료: meetingid={}", meetingid);
-        return new meetingUploadResponseDTO(meetingid);
+    /**
+     * id 순서로 cursor(이전 페이지 마지막 meetingid) 다음부터 size 개를 조회한다.
+     * size + 1 개를 읽어서 다음 페이지가 있는지 판단하고, 있으면 nextCursor 를 채운다.
+     */
+    public meetingListResponseDTO.meetingList getMeetingList(Long cursor, Integer size, String titlePrefix) {
+        int pageSize = size == null ? defaultListSize : Math.max(1, Math.min(size, maxListSize));
+        long after = cursor == null ? 0L : cursor;
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<meetingListResponseDTO.meetingSimple> rows = titlePrefix == null || titlePrefix.isBlank()
+                ? meetingRepository.findListPage(after, page)
+                : meetingRepository.findListPageByTitlePrefix(after, likePrefix(titlePrefix), page);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<meetingListResponseDTO.meetingSimple> list = hasNext ? rows.subList(0, pageSize) : rows;
+        Long nextCursor = hasNext ? list.get(list.size() - 1).getMeetingid() : null;
+
+        return new meetingListResponseDTO.meetingList(list, nextCursor);
     }
 
-    @Transactional
-    public meetingListResponseDTO.meetingList getMeetingList() {
-        List<Meeting> meetings = meetingRepository.findAll();
-        List<meetingListResponseDTO.meetingSimple> list = meetings.stream()
-                .map(item ->
-                    new meetingListResponseDTO.meetingSimple(item.getId(), item.getTitle())
-                ).toList();
-
-        return new meetingListResponseDTO.meetingList(list);
+    // 사용자가 입력한 %, _ 가 와일드카드로 해석되지 않도록 escape
+    private static String likePrefix(String prefix) {
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
     }
 
-    @Transactional
+    // 결과를 기다리기만 하는 요청이 DB 커넥션을 잡지 않도록 트랜잭션 없이 실행
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public meetingScriptResponseDTO getMeetingScript(Long meetingId) {
-        Meeting meeting = meetingRepository.findById(meetingId)
-                .orElseThrow(() -> new EntityNotFoundException("invalid meeting id"));
+        return scriptReads.execute(meetingId, () -> {
+            String script = meetingContentRepository.findScriptByMeetingId(meetingId)
+                    .orElseThrow(() -> new EntityNotFoundException("invalid meeting id"));
 
-        return new meetingScriptResponseDTO(meeting.getScript());
+            return new meetingScriptResponseDTO(script);
+        });
     }
 }
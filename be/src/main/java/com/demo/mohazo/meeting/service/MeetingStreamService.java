@@ -0,0 +1,112 @@
+package com.demo.mohazo.meeting.service;
+
+import com.demo.mohazo.common.service.NotionService;
+import com.demo.mohazo.meeting.dto.meetingUploadRequestDTO;
+import com.demo.mohazo.meeting.dto.meetingUploadResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * FastAPI /generate/stream 의 SSE 를 받아서 브라우저로 그대로 흘려보낸다.
+ * - token: AI 가 만든 요약 텍스트 조각 ({"text": "..."})
+ * - done : FastAPI 가 meeting 을 저장한 뒤 Notion page 를 만들고 연결까지 끝나면 meetingid 와 함께 전송
+ * - error: AI 생성 / 저장 / Notion 단계 중 실패
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MeetingStreamService {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient fastApiWebClient;
+    private final MeetingService meetingService;
+    private final MeetingResultCache meetingResultCache;
+    private final NotionService notionService;
+    private final ObjectMapper objectMapper;
+
+    public Flux<ServerSentEvent<Object>> streamMeeting(meetingUploadRequestDTO.beRequest req) {
+        log.info("회의록 스트리밍 업로드 요청 수신: title={}", req.getTitle());
+        String contentHash = MeetingResultCache.contentHash(req.getTeamid(), req.getTitle(), req.getRecord());
+
+        // 이미 업로드된 회의록이면 AI 를 다시 호출하지 않고 done 만 보냄
+        return Mono.fromCallable(() -> Optional.ofNullable(meetingResultCache.find(contentHash)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapMany(cached -> cached.isPresent()
+                        ? Flux.just(doneEvent(cached.get()))
+                        : generate(req, contentHash));
+    }
+
+    private Flux<ServerSentEvent<Object>> generate(meetingUploadRequestDTO.beRequest req, String contentHash) {
+        return fastApiWebClient.post()
+                .uri("/generate/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(new meetingUploadRequestDTO.aiRequest(req.getTitle(), req.getRecord()))
+                .retrieve()
+                .bodyToFlux(SSE_TYPE)
+                .concatMap(event -> relay(event, req.getTeamid(), contentHash))
+                .onErrorResume(e -> {
+                    log.error("회의록 스트리밍 실패", e);
+                    return Mono.just(errorEvent(e.getMessage()));
+                });
+    }
+
+    private Mono<ServerSentEvent<Object>> relay(ServerSentEvent<String> event, Long teamId, String contentHash) {
+        String name = event.event() != null ? event.event() : "";
+        return switch (name) {
+            // FastAPI 가 보낸 JSON 문자열을 다시 파싱하지 않고 그대로 전달
+            case "token" -> Mono.just(ServerSentEvent.<Object>builder(event.data()).event("token").build());
+            case "done" -> complete(event.data(), teamId, contentHash);
+            case "error" -> {
+                log.error("AI 스트리밍 생성 실패: {}", event.data());
+                yield Mono.just(ServerSentEvent.<Object>builder(event.data()).event("error").build());
+            }
+            default -> Mono.empty();
+        };
+    }
+
+    // 스트림이 끝나면 (FastAPI 가 meeting 저장 완료) Notion page 를 만들어 meeting 에 연결
+    private Mono<ServerSentEvent<Object>> complete(String data, Long teamId, String contentHash) {
+        JsonNode meetingidNode = objectMapper.readTree(data).path("meetingid");
+        // meetingid 가 없으면 0 으로 읽혀 엉뚱한 meeting 에 연결하지 않도록 error 로 끝냄
+        if (!meetingidNode.isIntegralNumber() || !meetingidNode.canConvertToLong()) {
+            return Mono.error(new IllegalStateException("AI 스트리밍 done 응답에 meetingid 가 없습니다: " + data));
+        }
+        Long meetingid = meetingidNode.longValue();
+        log.info("AI 스트리밍 생성 완료: meetingid={}", meetingid);
+
+        return notionService.createNewPageAsync(teamId)
+                .publishOn(Schedulers.boundedElastic())
+                .map(notionPageUrlDesc -> {
+                    meetingService.attachNotionPage(meetingid, notionPageUrlDesc, contentHash);
+                    meetingResultCache.put(contentHash, meetingid);
+                    log.info("회의록 스트리밍 업로드 완료: meetingid={}", meetingid);
+                    return doneEvent(meetingid);
+                });
+    }
+
+    private ServerSentEvent<Object> doneEvent(Long meetingid) {
+        return ServerSentEvent.<Object>builder(new meetingUploadResponseDTO(meetingid)).event("done").build();
+    }
+
+    private ServerSentEvent<Object> errorEvent(String detail) {
+        return ServerSentEvent.<Object>builder(Map.of("detail", detail != null ? detail : "unknown error"))
+                .event("error")
+                .build();
+    }
+}
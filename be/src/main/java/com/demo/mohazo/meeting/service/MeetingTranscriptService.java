@@ -0,0 +1,219 @@
+package com.demo.mohazo.meeting.service;
+
+import com.demo.mohazo.common.dto.ApiResponse;
+import com.demo.mohazo.meeting.dto.meetingSegmentSummaryDTO;
+import com.demo.mohazo.meeting.dto.meetingUploadRequestDTO;
+import com.demo.mohazo.meeting.dto.meetingUploadResponseDTO;
+import com.demo.mohazo.meeting.entity.MeetingContent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 한 번에 AI 로 보낼 수 없는 긴 회의록을 map-reduce 로 처리한다.
+ *
+ *   회의록 stream --(TranscriptChunker)--> 구간 1..N --(/summarize, 동시 최대 concurrency 개)--> 구간 요약
+ *   구간 요약을 순서대로 이어 붙임 --(/generate)--> meeting 저장 (reduce)
+ *   Notion page 생성은 처음부터 따로 실행
+ *
+ * 구간은 읽는 대로 바로 요청하고, 동시에 처리 중인 구간이 concurrency 개면 다음 구간을 읽지 않고 기다린다.
+ * 그래서 메모리에는 처리 중인 구간과 (짧은) 구간 요약만 남고, 전체 시간은 대략 N / concurrency 개 구간의 latency 가 된다.
+ * 이어 붙인 요약이 reduce-max-chars 를 넘으면 요약을 다시 구간으로 나눠 한 번 더 요약한다.
+ * 그래도 meeting_content.record 길이(10000자)를 넘으면 잘라서 저장하지 않고 실패로 끝낸다.
+ */
+@Slf4j
+@Service
+public class MeetingTranscriptService {
+
+    private static final int MAX_REDUCE_ROUNDS = 3;
+
+    private final RestClient fastApiRestClient;
+    private final MeetingService meetingService;
+    private final ThreadPoolTaskExecutor executor;
+    private final TranscriptChunker chunker;
+    private final int concurrency;
+    private final int reduceMaxChars;
+
+    public MeetingTranscriptService(RestClient fastApiRestClient,
+                                    MeetingService meetingService,
+                                    @Qualifier("meetingStageExecutor") ThreadPoolTaskExecutor executor,
+                                    @Value("${meeting.upload.chunk.max-tokens:3000}") int maxTokens,
+                                    @Value("${meeting.upload.chunk.concurrency:4}") int concurrency,
+                                    @Value("${meeting.upload.chunk.reduce-max-chars:8000}") int reduceMaxChars) {
+        this.fastApiRestClient = fastApiRestClient;
+        this.meetingService = meetingService;
+        this.executor = executor;
+        this.chunker = new TranscriptChunker(maxTokens);
+        this.concurrency = Math.max(1, concurrency);
+        this.reduceMaxChars = Math.min(reduceMaxChars, MeetingContent.MAX_RECORD_LENGTH);
+    }
+
+    public meetingUploadResponseDTO uploadTranscript(String title, Long teamid, Reader transcript) {
+        long start = System.nanoTime();
+        log.info("긴 회의록 업로드 요청 수신: title={}", title);
+
+        CompletableFuture<String> notion = CompletableFuture.supplyAsync(
+                () -> meetingService.createNotionPage(teamid), executor);
+        try {
+            // map
+            List<String> summaries = summarizeAll(title, chunker.segments(transcript));
+            if (summaries.isEmpty()) {
+                throw new IllegalArgumentException("회의록이 비어 있습니다.");
+            }
+            log.info("구간 요약 완료: segments={}, {}ms", summaries.size(), elapsedMs(start));
+
+            // reduce
+            String reduced = reduce(title, summaries);
+            if (reduced.length() > MeetingContent.MAX_RECORD_LENGTH) {
+                throw new IllegalStateException("회의록 요약이 너무 깁니다: " + reduced.length() + "자 (최대 "
+                        + MeetingContent.MAX_RECORD_LENGTH + "자). 회의록을 나눠서 올려 주세요.");
+            }
+            Long meetingid = meetingService.generateMeeting(
+                    new meetingUploadRequestDTO.beRequest(title, reduced, teamid));
+
+            meetingService.attachNotionPage(meetingid, join(notion), null);
+            log.info("긴 회의록 업로드 완료: meetingid={}, total={}ms", meetingid, elapsedMs(start));
+            return new meetingUploadResponseDTO(meetingid);
+        } catch (RuntimeException e) {
+            notion.cancel(true);
+            throw e;
+        }
+    }
+
+    // 이어 붙인 요약이 길면 그 요약을 다시 구간으로 나눠 요약 (라운드 수 제한)
+    private String reduce(String title, List<String> summaries) {
+        String joined = String.join("\n\n", summaries);
+        int round = 1;
+        while (joined.length() > reduceMaxChars && summaries.size() > 1 && round < MAX_REDUCE_ROUNDS) {
+            round++;
+            summaries = summarizeAll(title, chunker.segments(new StringReader(joined)));
+            joined = String.join("\n\n", summaries);
+            log.info("구간 요약 재요약: round={}, segments={}, chars={}", round, summaries.size(), joined.length());
+        }
+        return joined;
+    }
+
+    /**
+     * 구간을 읽는 대로 /summarize 로 보내고, 결과를 구간 순서대로 돌려준다.
+     * 한 구간이라도 실패하면 더 읽지 않고 나머지 요청을 취소한 뒤 그 원인을 던진다.
+     */
+    private List<String> summarizeAll(String title, Iterator<String> segments) {
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+
+        try {
+            int index = 0;
+            while (failure.get() == null && segments.hasNext()) {
+                String segment = segments.next();
+                permits.acquire();
+                if (failure.get() != null) {
+                    permits.release();
+                    break;
+                }
+
+                int current = index++;
+                CompletableFuture<String> result = CompletableFuture.supplyAsync(
+                        () -> summarize(title, segment, current), executor);
+                result.whenComplete((summary, e) -> {
+                    permits.release();
+                    if (e != null) {
+                        failure.compareAndSet(null, unwrap(e));
+                    }
+                });
+                results.add(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, new IllegalStateException("구간 요약이 중단되었습니다.", e));
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e); // 회의록 읽기 실패
+        }
+
+        List<String> summaries = new ArrayList<>(results.size());
+        for (CompletableFuture<String> result : results) {
+            if (failure.get() != null) {
+                results.forEach(other -> other.cancel(true));
+                break;
+            }
+            try {
+                summaries.add(result.join());
+            } catch (CompletionException | CancellationException e) {
+                failure.compareAndSet(null, unwrap(e));
+            }
+        }
+
+        Throwable cause = failure.get();
+        if (cause != null) {
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+        return summaries;
+    }
+
+    private String summarize(String title, String segment, int index) {
+        long start = System.nanoTime();
+        ApiResponse<meetingSegmentSummaryDTO> response;
+        try {
+            response = fastApiRestClient.post()
+                    .uri("/summarize")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .body(new meetingUploadRequestDTO.segmentRequest(title, segment, index))
+                    .retrieve()
+                    .body(new ParameterizedTypeReference<ApiResponse<meetingSegmentSummaryDTO>>() {});
+        } catch (RestClientException e) {
+            log.error("구간 요약 실패: index={}", index, e);
+            throw new IllegalStateException("구간 요약에 실패했습니다: " + e.getMessage(), e);
+        }
+
+        if (response == null || response.getData() == null || response.getData().getSummary() == null) {
+            throw new IllegalStateException("구간 요약 응답이 비어 있습니다: index=" + index);
+        }
+        log.debug("구간 요약 완료: index={}, chars={}, {}ms", index, segment.length(), elapsedMs(start));
+        return response.getData().getSummary();
+    }
+
+    private static String join(CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(cause.getMessage(), cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
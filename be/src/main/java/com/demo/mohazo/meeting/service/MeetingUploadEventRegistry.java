@@ -0,0 +1,89 @@
+package com.demo.mohazo.meeting.service;
+
+import com.demo.mohazo.meeting.dto.meetingUploadJobResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * 업로드 job 을 SSE 로 구독 중인 클라이언트 목록.
+ * job 상태가 바뀌면 "status" 이벤트를 보내고, DONE / FAILED 이면 스트림을 닫는다.
+ */
+@Slf4j
+@Component
+public class MeetingUploadEventRegistry {
+
+    private final long timeoutMs;
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public MeetingUploadEventRegistry(@Value("${meeting.upload.sse-timeout-ms:120000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * 먼저 구독을 등록한 뒤 현재 상태를 확인한다.
+     * 그 사이에 job 이 끝났다면 publish 와 여기 중 emitter 를 목록에서 먼저 뺀 쪽이 마지막 이벤트를 보낸다.
+     */
+    public SseEmitter subscribe(Long jobId, Supplier<meetingUploadJobResponseDTO> currentStatus) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        List<SseEmitter> list = emitters.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>());
+        list.add(emitter);
+        emitter.onCompletion(() -> remove(jobId, emitter));
+        emitter.onTimeout(() -> remove(jobId, emitter));
+        emitter.onError(e -> remove(jobId, emitter));
+
+        meetingUploadJobResponseDTO status = currentStatus.get();
+        if (!status.isFinished()) {
+            send(emitter, status);
+        } else if (list.remove(emitter)) {
+            send(emitter, status);
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    public void publish(meetingUploadJobResponseDTO status) {
+        List<SseEmitter> list = status.isFinished()
+                ? emitters.remove(status.getJobid())
+                : emitters.get(status.getJobid());
+        if (list == null) {
+            return;
+        }
+
+        for (SseEmitter emitter : list) {
+            // 끝난 job 은 subscribe 쪽과 중복 전송하지 않도록 목록에서 뺀 emitter 에만 보냄
+            if (status.isFinished() && !list.remove(emitter)) {
+                continue;
+            }
+            send(emitter, status);
+            if (status.isFinished()) {
+                emitter.complete();
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, meetingUploadJobResponseDTO status) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(status));
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 이미 연결을 끊은 경우
+            log.debug("SSE 전송 실패: jobId={}", status.getJobid(), e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Long jobId, SseEmitter emitter) {
+        emitters.computeIfPresent(jobId, (id, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+}
@@ -0,0 +1,153 @@
+package com.demo.mohazo.meeting.service;
+
+import com.demo.mohazo.common.domain.JobStatus;
+import com.demo.mohazo.meeting.dto.meetingUploadJobResponseDTO;
+import com.demo.mohazo.meeting.dto.meetingUploadRequestDTO;
+import com.demo.mohazo.meeting.entity.MeetingUploadJob;
+import com.demo.mohazo.meeting.repository.MeetingUploadJobRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 회의록 업로드를 job 으로 받아서 요청 스레드 밖(meetingUploadExecutor)에서 AI / Notion 단계를 실행한다.
+ * 요청은 job 을 저장하고 바로 202 + jobid 로 응답하며, 진행 상황은 polling 또는 SSE 로 확인한다.
+ * 여러 인스턴스가 같은 테이블을 보므로 실행 전에 조건부 UPDATE 로 claim 하고 (notion_export_job 과 같은 방식),
+ * lease 가 지난 RUNNING job 만 죽은 인스턴스의 것으로 보고 정리한다.
+ */
+@Slf4j
+@Service
+public class MeetingUploadJobService {
+
+    private final MeetingUploadJobRepository jobRepository;
+    private final MeetingService meetingService;
+    private final MeetingUploadEventRegistry eventRegistry;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration lease;
+    // claim 할 때 기록하는 이 인스턴스의 id
+    private final String owner = UUID.randomUUID().toString();
+
+    public MeetingUploadJobService(MeetingUploadJobRepository jobRepository,
+                                   MeetingService meetingService,
+                                   MeetingUploadEventRegistry eventRegistry,
+                                   @Qualifier("meetingUploadExecutor") ThreadPoolTaskExecutor executor,
+                                   @Value("${meeting.upload.lease-ms:600000}") long leaseMs) {
+        this.jobRepository = jobRepository;
+        this.meetingService = meetingService;
+        this.eventRegistry = eventRegistry;
+        this.executor = executor;
+        this.lease = Duration.ofMillis(leaseMs);
+    }
+
+    public Long enqueue(meetingUploadRequestDTO.beRequest req) {
+        MeetingUploadJob job = jobRepository.save(MeetingUploadJob.builder()
+                .title(req.getTitle())
+                .record(req.getRecord())
+                .teamId(req.getTeamid())
+                .build());
+        log.info("회의록 업로드 job 적재: jobId={}, title={}", job.getId(), req.getTitle());
+
+        submit(job.getId());
+        return job.getId();
+    }
+
+    public meetingUploadJobResponseDTO getJob(Long jobId) {
+        MeetingUploadJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("invalid job id: " + jobId));
+        return meetingUploadJobResponseDTO.from(job);
+    }
+
+    public SseEmitter subscribe(Long jobId) {
+        getJob(jobId); // 없는 job 이면 구독 전에 404
+        return eventRegistry.subscribe(jobId, () -> getJob(jobId));
+    }
+
+    /**
+     * 죽은 인스턴스가 남긴 job 을 정리한다 (시작 직후부터 주기적으로 실행).
+     * - lease 가 지난 RUNNING: 실패로 남김 (AI 단계가 meeting 행을 만든 뒤였을 수 있으므로 자동으로 다시 실행하지 않음)
+     * - lease 보다 오래 PENDING: 이 인스턴스에서 다시 실행. 살아 있는 인스턴스의 대기열에 있던 job 이어도 claim 에서 한 곳만 실행됨
+     */
+    @Scheduled(fixedDelayString = "${meeting.upload.recover-interval-ms:60000}")
+    public void recover() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(lease);
+        for (MeetingUploadJob job : jobRepository.findExpired(JobStatus.RUNNING, staleBefore)) {
+            if (finish(job, JobStatus.FAILED, null, "실행하던 서버가 응답하지 않아 중단되었습니다.")) {
+                log.warn("회의록 업로드 job lease 만료: jobId={}, owner={}", job.getId(), job.getLockedBy());
+            }
+        }
+        for (Long jobId : jobRepository.findPendingIds(JobStatus.PENDING, staleBefore)) {
+            try {
+                executor.execute(() -> run(jobId));
+            } catch (TaskRejectedException e) {
+                // 대기열이 가득 차면 다음 주기에 다시 시도
+                return;
+            }
+        }
+    }
+
+    private void submit(Long jobId) {
+        try {
+            executor.execute(() -> run(jobId));
+        } catch (TaskRejectedException e) {
+            if (jobRepository.claim(jobId, JobStatus.PENDING, JobStatus.RUNNING, owner, LocalDateTime.now()) == 1) {
+                finish(jobRepository.findById(jobId).orElseThrow(), JobStatus.FAILED, null, "업로드 대기열이 가득 찼습니다.");
+            }
+            throw new IllegalStateException("업로드 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해 주세요.", e);
+        }
+    }
+
+    void run(Long jobId) {
+        // 다른 인스턴스(또는 recover 로 중복 제출된 task)가 이미 가져갔으면 0 건
+        if (jobRepository.claim(jobId, JobStatus.PENDING, JobStatus.RUNNING, owner, LocalDateTime.now()) == 0) {
+            return;
+        }
+        MeetingUploadJob job = jobRepository.findById(jobId).orElseThrow();
+        eventRegistry.publish(meetingUploadJobResponseDTO.from(job));
+
+        try {
+            meetingUploadRequestDTO.beRequest req = new meetingUploadRequestDTO.beRequest(
+                    job.getTitle(), job.getRecord(), job.getTeamId());
+            Long meetingid = meetingService.uploadMeeting(req).getMeetingid();
+            finish(job, JobStatus.DONE, meetingid, null);
+            log.info("회의록 업로드 job 완료: jobId={}, meetingid={}", jobId, meetingid);
+        } catch (Exception e) {
+            finish(job, JobStatus.FAILED, null, e.getMessage());
+            log.error("회의록 업로드 job 실패: jobId={}", jobId, e);
+        }
+    }
+
+    // claim 할 때 기록한 owner / lockedAt 이 그대로일 때만 기록. 이미 다른 곳에서 끝낸 job 이면 false
+    private boolean finish(MeetingUploadJob job, JobStatus status, Long meetingId, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = jobRepository.finish(job.getId(), JobStatus.RUNNING, job.getLockedBy(), job.getLockedAt(),
+                status, meetingId, abbreviate(error), now);
+        if (updated == 0) {
+            log.warn("회의록 업로드 job 결과 버림 (lease 만료로 이미 정리됨): jobId={}, status={}", job.getId(), status);
+            return false;
+        }
+
+        job.setStatus(status);
+        job.setMeetingId(meetingId);
+        job.setLastError(abbreviate(error));
+        job.setUpdatedAt(now);
+        eventRegistry.publish(meetingUploadJobResponseDTO.from(job));
+        return true;
+    }
+
+    private String abbreviate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
@@ -0,0 +1,159 @@
+package com.demo.mohazo.meeting.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 긴 회의록을 AI 한 번에 보낼 수 있는 크기(추정 토큰 수)의 구간으로 나눈다.
+ * Reader 에서 필요한 만큼만 읽으므로 전체 회의록을 메모리에 올리지 않는다.
+ *
+ * 구간은 가능하면 줄바꿈에서, 한 줄이 너무 길면 공백에서, 그것도 없으면 글자 단위로 자른다.
+ * 토큰 수는 tokenizer 없이 추정한다: 한글/한자 등은 글자당 1, 영문/숫자는 4글자당 1.
+ */
+public final class TranscriptChunker {
+
+    private final int maxTokens;
+
+    public TranscriptChunker(int maxTokens) {
+        if (maxTokens < 1) {
+            throw new IllegalArgumentException("maxTokens must be positive: " + maxTokens);
+        }
+        this.maxTokens = maxTokens;
+    }
+
+    public Iterator<String> segments(Reader reader) {
+        return new SegmentIterator(reader);
+    }
+
+    static int estimateTokens(CharSequence text) {
+        TokenCounter counter = new TokenCounter();
+        for (int i = 0; i < text.length(); i++) {
+            counter.add(text.charAt(i));
+        }
+        return counter.tokens;
+    }
+
+    private static final class TokenCounter {
+        private int tokens;
+        private int run; // 이어지는 영문/숫자 글자 수
+
+        private void add(char c) {
+            if (Character.isWhitespace(c)) {
+                run = 0;
+            } else if (c >= 0x1100) { // 한글 자모 이후(한글, 한자, 가나 등)
+                run = 0;
+                tokens++;
+            } else if (run++ % 4 == 0) {
+                tokens++;
+            }
+        }
+    }
+
+    private final class SegmentIterator implements Iterator<String> {
+        private final BufferedReader reader;
+        private final StringBuilder current = new StringBuilder(); // 아직 구간으로 내보내지 않은 글자
+        private String next;
+        private boolean eof;
+
+        // current 기준 상태 (마지막 줄바꿈 / 공백 바로 뒤 위치)
+        private TokenCounter counter = new TokenCounter();
+        private int lineBreak;
+        private int space;
+
+        private SegmentIterator(Reader reader) {
+            this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = readSegment();
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String segment = next;
+            next = null;
+            return segment;
+        }
+
+        private String readSegment() {
+            try {
+                while (true) {
+                    // 넘겨받은 글자만으로도 제한을 넘을 수 있으므로 읽기 전에 먼저 확인
+                    if (counter.tokens > maxTokens) {
+                        String segment = cut();
+                        if (!segment.isEmpty()) {
+                            return segment;
+                        }
+                        continue;
+                    }
+                    if (eof) {
+                        break;
+                    }
+                    int ch = reader.read();
+                    if (ch < 0) {
+                        eof = true;
+                        break;
+                    }
+                    append((char) ch);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("회의록을 읽지 못했습니다.", e);
+            }
+
+            // 남은 글자는 마지막 구간
+            String rest = current.toString().strip();
+            current.setLength(0);
+            return rest.isEmpty() ? null : rest;
+        }
+
+        // 제한을 넘긴 글자는 다음 구간으로 넘기고, 그 앞까지를 구간으로 잘라냄
+        private String cut() {
+            int at = lineBreak > 0 ? lineBreak : space > 0 ? space : current.length() - 1;
+            if (Character.isLowSurrogate(current.charAt(at)) && Character.isHighSurrogate(current.charAt(at - 1))) {
+                at--; // surrogate pair 는 나누지 않음
+            }
+            if (at <= 0) {
+                at = current.length();
+            }
+            String segment = current.substring(0, at).strip();
+            current.delete(0, at);
+            rescan();
+            return segment;
+        }
+
+        private void append(char c) {
+            current.append(c);
+            track(c, current.length());
+        }
+
+        // 다음 구간으로 넘어온 글자 기준으로 상태를 다시 계산
+        private void rescan() {
+            counter = new TokenCounter();
+            lineBreak = 0;
+            space = 0;
+            for (int i = 0; i < current.length(); i++) {
+                track(current.charAt(i), i + 1);
+            }
+        }
+
+        private void track(char c, int end) {
+            counter.add(c);
+            if (c == '\n') {
+                lineBreak = end;
+            } else if (Character.isWhitespace(c)) {
+                space = end;
+            }
+        }
+    }
+}
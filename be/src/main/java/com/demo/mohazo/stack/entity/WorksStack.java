@@ -0,0 +1,30 @@
+package com.demo.mohazo.stack.entity;
+
+import com.demo.mohazo.works.entity.Works;
+import jakarta.persistence.*;
+import lombok.*;
+
+// Works 를 수행하는 데 필요한 기술 스택 (AI 가 WBS 를 만들 때 함께 지정)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "works_stack",
+        indexes = @Index(name = "idx_works_stack_works", columnList = "works_id"))
+public class WorksStack {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name="works_id", nullable = false)
+    private Works works;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name="stack_id", nullable = false)
+    private Stack stack;
+
+}
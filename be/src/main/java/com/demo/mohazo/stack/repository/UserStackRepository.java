@@ -0,0 +1,15 @@
+package com.demo.mohazo.stack.repository;
+
+import com.demo.mohazo.stack.entity.UserStack;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface UserStackRepository extends JpaRepository<UserStack, Long> {
+
+    // (userId, stackId) 만 조회 (User / Stack 엔티티를 읽지 않음)
+    @Query("SELECT us.user.id, us.stack.id FROM UserStack us")
+    List<Object[]> findAllUserStackIds();
+
+}
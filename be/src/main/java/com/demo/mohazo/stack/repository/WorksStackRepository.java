@@ -0,0 +1,15 @@
+package com.demo.mohazo.stack.repository;
+
+import com.demo.mohazo.stack.entity.WorksStack;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface WorksStackRepository extends JpaRepository<WorksStack, Long> {
+
+    // (worksId, stackId)
+    @Query("SELECT ws.works.id, ws.stack.id FROM WorksStack ws WHERE ws.works.id IN :worksIds")
+    List<Object[]> findStackIdsByWorksIdIn(List<Long> worksIds);
+
+}
@@ -2,26 +2,21 @@ package com.demo.mohazo.tasklist.controller;
 
 
 import com.demo.mohazo.common.dto.ApiResponse;
-import com.demo.mohazo.common.entity.Team;
-import com.demo.mohazo.common.repository.TeamRepository;
-import com.demo.mohazo.common.service.MohajoAlgorithm;
-import com.demo.mohazo.meeting.entity.Meeting;
-import com.demo.mohazo.meeting.repository.MeetingRepository;
+import com.demo.mohazo.export.service.NotionExportJobService;
 import com.demo.mohazo.tasklist.dto.TaskListRequestDto;
-import com.demo.mohazo.tasklist.entity.TaskList;
 import com.demo.mohazo.tasklist.service.TaskListNotionService;
-import com.demo.mohazo.works.entity.Works;
 import com.demo.mohazo.works.service.WorksService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
@@ -29,35 +24,57 @@ import java.util.stream.Collectors;
 public class TaskBoardController {
 
     public final TaskListNotionService taskListNotionService;
-    public final MeetingRepository meetingRepository;
-    public final TeamRepository teamRepository;
     public final WorksService worksService;
+    public final NotionExportJobService notionExportJobService;
 
 
 
     @PostMapping
-    public ResponseEntity<?> createTaskboard(@RequestBody TaskListRequestDto taskListRequestDto) {
+    public Mono<ResponseEntity<ApiResponse<Object>>> createTaskboard(
+            @RequestBody TaskListRequestDto taskListRequestDto,
+            @RequestParam(name = "async", defaultValue = "false") boolean async) {
 
         Long meetingid = taskListRequestDto.getMeetingid();
+        Long teamid = taskListRequestDto.getTeamid();
+
+        // async=true 이면 Works 할당 + job 적재만 하고 바로 jobid 반환 (진행 상황은 GET /api/notion/jobs/{jobid})
+        if (async) {
+            return Mono.fromCallable(() -> notionExportJobService.enqueueTaskBoard(meetingid, teamid))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(jobId -> ResponseEntity.accepted()
+                            .body(new ApiResponse<Object>("task list export queued", Map.of("jobid", jobId))));
+        }
+
+        // 미배정 Works 할당(JPA)은 blocking 이므로 boundedElastic 에서 실행
+        return Mono.fromCallable(worksService::assignworks)
+                .subscribeOn(Schedulers.boundedElastic())
+                //TaskListService.createTable -> notion_database_id in meeting
+                //TaskListService.insertPages 안에서 TaskList에  notion_task_id 할당
+                .then(taskListNotionService.exportTaskBoardAsync(meetingid, teamid))
+                .thenReturn(ResponseEntity.ok().body(new ApiResponse<>("task list successfully exported to notion", null)));
 
-        List<TaskList> tasks = taskListNotionService.findbymeetingid(meetingid);
-
-
-        worksService.assignworks();
-
-
-        Meeting meeting = meetingRepository.findById(meetingid).orElse(null);
-
-
-        Team team = teamRepository.findById(1L).orElse(null);
-
-        //TaskListService.createTable -> notion_database_id in meeting
-        taskListNotionService.createNotionDB(team, meeting);
-        //TaskListService.insertPages 안에서 TaskList에  notion_task_id 할당
-        taskListNotionService.insertPages(tasks, meeting, team);
+    }
 
+    // 이미 내보낸 task board 에 변경된 행만 반영 (insert / PATCH / archive)
+    @PostMapping("/sync")
+    public Mono<ResponseEntity<ApiResponse<Object>>> syncTaskboard(
+            @RequestBody TaskListRequestDto taskListRequestDto,
+            @RequestParam(name = "async", defaultValue = "false") boolean async) {
 
-        return ResponseEntity.ok().body(new ApiResponse<>("task list successfully exported to notion", null));
+        Long meetingid = taskListRequestDto.getMeetingid();
+        Long teamid = taskListRequestDto.getTeamid();
+
+        if (async) {
+            return Mono.fromCallable(() -> notionExportJobService.enqueueTaskSync(meetingid, teamid))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .map(jobId -> ResponseEntity.accepted()
+                            .body(new ApiResponse<Object>("task list sync queued", Map.of("jobid", jobId))));
+        }
+
+        return Mono.fromCallable(worksService::assignworks)
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(taskListNotionService.syncTaskBoardAsync(meetingid, teamid))
+                .map(result -> ResponseEntity.ok().body(new ApiResponse<Object>("task list successfully synced to notion", result)));
 
     }
 
@@ -12,4 +12,7 @@ public class TaskListRequestDto {
 
     @JsonProperty("meetingid")
     private long meetingid;
+
+    @JsonProperty("teamid")
+    private Long teamid; // 없으면 기본 팀
 }
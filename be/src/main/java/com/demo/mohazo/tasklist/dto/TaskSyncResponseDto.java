@@ -0,0 +1,14 @@
+package com.demo.mohazo.tasklist.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TaskSyncResponseDto {
+    private int inserted;
+    private int updated;
+    private int archived;
+    private int unchanged;
+}
@@ -41,4 +41,7 @@ public class TaskList {
     @Column(name="notion_task_id", length = 200)
     private String notionTaskId;
 
+    @Column(name="notion_fingerprint", length = 64)
+    private String notionFingerprint; // 마지막으로 Notion 에 보낸 상태의 SHA-256 (변경 감지용)
+
 }
@@ -11,7 +11,8 @@ import java.util.List;
 public interface TaskListRepository extends JpaRepository<TaskList, Long> {
 
     @Query("SELECT t FROM TaskList t " +
-            "JOIN FETCH t.works " +  // TaskList를 가져올 때 연관된 Works도 한 번에 가져옴
+            "JOIN FETCH t.works w " +  // TaskList를 가져올 때 연관된 Works도 한 번에 가져옴
+            "LEFT JOIN FETCH w.assignee " +  // Notion 내보내기에서 담당자 이름을 읽으므로 함께 가져옴
             "WHERE t.meeting.id = :meetingId")
     List<TaskList> findBymeeting_Id(Long meetingId);
 
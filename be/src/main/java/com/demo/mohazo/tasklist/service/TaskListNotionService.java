@@ -1,25 +1,39 @@
 package com.demo.mohazo.tasklist.service;
 
 
+import com.demo.mohazo.common.client.NotionClient;
 import com.demo.mohazo.common.domain.Status;
 import com.demo.mohazo.common.entity.Team;
+import com.demo.mohazo.common.service.TeamContextResolver;
+import com.demo.mohazo.common.util.HashUtils;
 import com.demo.mohazo.meeting.entity.Meeting;
 import com.demo.mohazo.meeting.repository.MeetingRepository;
 import com.demo.mohazo.tasklist.dto.TaskListRequestDto;
 import com.demo.mohazo.tasklist.dto.TaskListResponseDto;
+import com.demo.mohazo.tasklist.dto.TaskSyncResponseDto;
 import com.demo.mohazo.tasklist.entity.TaskList;
 import com.demo.mohazo.tasklist.repository.TaskListRepository;
+import com.demo.mohazo.user.entity.User;
 import com.demo.mohazo.works.entity.Works;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import tools.jackson.databind.JsonNode;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TaskListNotionService {
@@ -27,14 +41,22 @@ public class TaskListNotionService {
 
 
     private final TaskListRepository taskListRepository;
-    private final WebClient webClient;
+    private final NotionClient notionClient;
     private final MeetingRepository meetingRepository;
+    private final TeamContextResolver teamContextResolver;
+
+    // insertPages 에서 동시에 진행할 Notion insert 요청 수 (1이면 순차 실행)
+    @Value("${notion.export.concurrency:4}")
+    private int exportConcurrency;
 
 
 
     public String createDatabase(Team team) {
+        return createDatabaseAsync(team).block();
+    }
+
+    public Mono<String> createDatabaseAsync(Team team) {
         String PARENT_PAGE_ID = team.getNotionPageUrlBase();
-        String NOTION_TOKEN = team.getNotionKey();
         Map<String, Object> body = Map.of(
                 "parent", Map.of("page_id", PARENT_PAGE_ID),
                 "title", List.of(Map.of("text", Map.of("content", "DB 생성기 테스트"))),
@@ -50,36 +72,29 @@ public class TaskListNotionService {
                                         Map.of("name", Status.DONE.name(), "color", "green"),
                                         Map.of("name", Status.CLASSIFIED.name(), "color", "yellow"))))));
 
-        return webClient.post().uri("/databases")
-                .header("Authorization", "Bearer " + NOTION_TOKEN)
-                .header("Notion-Version", "2022-06-28")
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(JsonNode.class)
-                .map(node -> node.get("id").asText())
-                .block();
+        return notionClient.post(team, "/databases", body)
+                .map(node -> node.get("id").asText());
     }
 
     public String insertPage(String databaseId, TaskListResponseDto data, Team team) {
-        String NOTION_TOKEN = team.getNotionKey();
+        return insertPageAsync(databaseId, data, team).block();
+    }
+
+    public Mono<String> insertPageAsync(String databaseId, TaskListResponseDto data, Team team) {
         Map<String, Object> props = new HashMap<>();
         props.put("업무 명칭", Map.of("title", List.of(Map.of("text", Map.of("content", data.getDescription())))));
         props.put("담당자", Map.of("rich_text", List.of(Map.of("text", Map.of("content", data.getAssignee())))));
         props.put("상태", Map.of("select", Map.of("name", data.getStatus().name())));
 
-        return webClient.post().uri("/pages")
-                .header("Authorization", "Bearer " + NOTION_TOKEN)
-                .header("Notion-Version", "2022-06-28")
-                .bodyValue(Map.of("parent", Map.of("database_id", databaseId), "properties", props))
-                .retrieve()
-                .bodyToMono(JsonNode.class)
-                .map(node -> node.get("id").asText())
-                .block();
+        return notionClient.post(team, "/pages", Map.of("parent", Map.of("database_id", databaseId), "properties", props))
+                .map(node -> node.get("id").asText());
     }
 
     public void updatePage(String pageId, TaskListResponseDto data, Team team) {
-        String NOTION_TOKEN = team.getNotionKey();
+        updatePageAsync(pageId, data, team).block();
+    }
 
+    public Mono<Void> updatePageAsync(String pageId, TaskListResponseDto data, Team team) {
         // 1. 변경할 데이터 맵 구성 (전달된 데이터만 업데이트됩니다)
         Map<String, Object> props = new HashMap<>();
 
@@ -96,14 +111,9 @@ public class TaskListNotionService {
         props.put("상태", Map.of("select", Map.of("name", data.getStatus().name())));
 
         // 2. PATCH 요청 실행
-        webClient.patch()
-                .uri("/pages/" + pageId) // 업데이트할 특정 페이지의 ID
-                .header("Authorization", "Bearer " + NOTION_TOKEN)
-                .header("Notion-Version", "2022-06-28")
-                .bodyValue(Map.of("properties", props)) // 데이터베이스 정보(parent) 없이 properties만 전송
-                .retrieve()
-                .toBodilessEntity()
-                .block();
+        // 데이터베이스 정보(parent) 없이 properties만 전송
+        return notionClient.patch(team, "/pages/{id}", Map.of("properties", props), pageId)
+                .then();
     }
 
 
@@ -112,45 +122,237 @@ public class TaskListNotionService {
     }
 
     public void createNotionDB(Team team, Meeting meeting) {
-        String db_id = createDatabase(team);
-        meeting.setNotionDatabaseId(db_id);
-        meetingRepository.save(meeting);
+        createNotionDBAsync(team, meeting).block();
     }
 
-    public TaskListResponseDto apply2dto(TaskList task){
-
-        String description = task.getTitle();
-        String assignee = task.getWorks().getAssignee().getName();
-        Status status = task.getStatus();
+    public Mono<Void> createNotionDBAsync(Team team, Meeting meeting) {
+        return createDatabaseAsync(team)
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(db_id -> {
+                    meeting.setNotionDatabaseId(db_id);
+                    meetingRepository.save(meeting);
+                })
+                .then();
+    }
 
-        TaskListResponseDto dto =  new TaskListResponseDto(description, assignee, status);
+    /**
+     * meeting 의 TaskList 전체를 새 Notion DB로 내보낸다.
+     * DB 조회는 boundedElastic 에서, Notion 호출은 non-blocking 으로 이어서 실행한다.
+     */
+    public Mono<Void> exportTaskBoardAsync(Long meetingId, Long teamId) {
+        return Mono.fromCallable(() -> loadTaskBoard(meetingId, teamId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(this::exportTaskBoardAsync);
+    }
 
+    private Mono<Void> exportTaskBoardAsync(TaskBoardExport export) {
+        return createNotionDBAsync(export.team(), export.meeting())
+                // notionDatabaseId 는 DB 생성 이후에 채워지므로 defer
+                .then(Mono.defer(() -> insertPagesAsync(export.tasks(), export.meeting(), export.team())));
+    }
 
+    /**
+     * 이미 내보낸 Notion DB 와 현재 TaskList 의 차이만 반영한다.
+     * - notionTaskId 가 없는 행: insert
+     * - 마지막으로 보낸 fingerprint 와 달라진 행: PATCH
+     * - Notion DB 에는 있지만 TaskList 에서 사라진 페이지: archive
+     * 아직 Notion DB 가 없으면 전체 내보내기를 수행한다.
+     */
+    public Mono<TaskSyncResponseDto> syncTaskBoardAsync(Long meetingId, Long teamId) {
+        return Mono.fromCallable(() -> loadTaskBoard(meetingId, teamId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(export -> {
+                    if (export.meeting().getNotionDatabaseId() == null) {
+                        return exportTaskBoardAsync(export)
+                                .thenReturn(new TaskSyncResponseDto(export.tasks().size(), 0, 0, 0));
+                    }
+                    return syncTaskBoardAsync(export);
+                });
+    }
 
+    private Mono<TaskSyncResponseDto> syncTaskBoardAsync(TaskBoardExport export) {
+        String databaseId = export.meeting().getNotionDatabaseId();
+        Team team = export.team();
+
+        // 1. 행마다 현재 상태의 fingerprint 를 계산해서 변경된 행만 골라냄
+        List<TaskSyncOp> ops = new ArrayList<>();
+        Set<String> liveTaskIds = new HashSet<>();
+        int unchanged = 0;
+        for (TaskList task : export.tasks()) {
+            TaskListResponseDto dto = apply2dto(task);
+            String fingerprint = fingerprint(dto);
+            if (task.getNotionTaskId() != null) {
+                liveTaskIds.add(normalizeId(task.getNotionTaskId()));
+                if (fingerprint.equals(task.getNotionFingerprint())) {
+                    unchanged++;
+                    continue;
+                }
+            }
+            ops.add(new TaskSyncOp(task, dto, fingerprint, task.getNotionTaskId() == null));
+        }
+        int unchangedCount = unchanged;
+
+        // 2. insert / PATCH 실행 (실패한 행은 건너뛰고 다음 sync 때 다시 시도됨)
+        return Flux.fromIterable(ops)
+                .flatMap(op -> applySyncOp(databaseId, op, team)
+                        .onErrorResume(e -> {
+                            log.error("Notion task sync 실패: description={}", op.dto().getDescription(), e);
+                            return Mono.empty();
+                        }), Math.max(1, exportConcurrency))
+                .collectList()
+                .flatMap(applied -> {
+                    applied.stream()
+                            .filter(TaskSyncOp::insert)
+                            .forEach(op -> liveTaskIds.add(normalizeId(op.task().getNotionTaskId())));
+
+                    // 3. insert 가 끝난 뒤에 Notion DB 를 조회해야 새로 만든 페이지를 지우지 않음
+                    return archiveRemovedPagesAsync(databaseId, liveTaskIds, team)
+                            .publishOn(Schedulers.boundedElastic())
+                            .map(archived -> {
+                                taskListRepository.saveAll(applied.stream().map(TaskSyncOp::task).toList());
+
+                                int failed = ops.size() - applied.size();
+                                if (failed > 0) {
+                                    throw new IllegalStateException("Notion task sync 실패: " + failed + "/" + ops.size() + "건");
+                                }
+
+                                int inserted = (int) applied.stream().filter(TaskSyncOp::insert).count();
+                                TaskSyncResponseDto result = new TaskSyncResponseDto(
+                                        inserted, applied.size() - inserted, archived.intValue(), unchangedCount);
+                                log.info("Notion task sync 완료: databaseId={}, result={}", databaseId, result);
+                                return result;
+                            });
+                });
+    }
 
-        return dto;
+    private Mono<TaskSyncOp> applySyncOp(String databaseId, TaskSyncOp op, Team team) {
+        Mono<Void> request = op.insert()
+                ? insertPageAsync(databaseId, op.dto(), team).doOnNext(id -> op.task().setNotionTaskId(id)).then()
+                : updatePageAsync(op.task().getNotionTaskId(), op.dto(), team);
+        return request.then(Mono.fromCallable(() -> {
+            op.task().setNotionFingerprint(op.fingerprint());
+            return op;
+        }));
+    }
 
+    private Mono<Long> archiveRemovedPagesAsync(String databaseId, Set<String> liveTaskIds, Team team) {
+        return queryDatabasePageIds(databaseId, team)
+                .filter(pageId -> !liveTaskIds.contains(normalizeId(pageId)))
+                .flatMap(pageId -> archivePageAsync(pageId, team), Math.max(1, exportConcurrency))
+                .count();
     }
 
-    public void insertPages(List<TaskList> taskLists, Meeting meeting, Team team ) {
-        String databaseId = meeting.getNotionDatabaseId();
+    // databases/{id}/query 를 next_cursor 로 끝까지 따라가며 (archive 되지 않은) 페이지 id 를 모음
+    private Flux<String> queryDatabasePageIds(String databaseId, Team team) {
+        return queryDatabaseAsync(databaseId, null, team)
+                .expand(node -> node.path("has_more").asBoolean()
+                        ? queryDatabaseAsync(databaseId, node.path("next_cursor").asText(), team)
+                        : Mono.empty())
+                .flatMapIterable(node -> {
+                    JsonNode results = node.path("results");
+                    List<String> pageIds = new ArrayList<>();
+                    for (int i = 0; i < results.size(); i++) {
+                        pageIds.add(results.get(i).get("id").asText());
+                    }
+                    return pageIds;
+                });
+    }
 
-        for (TaskList taskList : taskLists) {
-            TaskListResponseDto dto = apply2dto(taskList);
-            String taks_id = insertPage(databaseId, dto, team);
-            taskList.setNotionTaskId(taks_id);
-            taskListRepository.save(taskList);
+    private Mono<JsonNode> queryDatabaseAsync(String databaseId, String startCursor, Team team) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("page_size", 100);
+        if (startCursor != null) {
+            body.put("start_cursor", startCursor);
         }
 
+        return notionClient.post(team, "/databases/{id}/query", body, databaseId);
+    }
 
+    private Mono<String> archivePageAsync(String pageId, Team team) {
+        return notionClient.patch(team, "/pages/{id}", Map.of("archived", true), pageId)
+                .thenReturn(pageId);
     }
 
+    // Notion 은 id 를 하이픈 유무 두 형태로 돌려줄 수 있으므로 비교할 때는 하이픈을 제거
+    private String normalizeId(String notionId) {
+        return notionId.replace("-", "");
+    }
+
+    // 마지막으로 Notion 에 보낸 상태(제목, 담당자, 상태)의 SHA-256
+    private String fingerprint(TaskListResponseDto dto) {
+        return HashUtils.sha256Hex(dto.getDescription() + '\0' + dto.getAssignee() + '\0' + dto.getStatus());
+    }
+
+    private TaskBoardExport loadTaskBoard(Long meetingId, Long teamId) {
+        Meeting meeting = meetingRepository.findById(meetingId)
+                .orElseThrow(() -> new EntityNotFoundException("invalid meeting id: " + meetingId));
+        Team team = teamContextResolver.resolve(teamId);
+        return new TaskBoardExport(meeting, team, findbymeetingid(meetingId));
+    }
+
+    private record TaskBoardExport(Meeting meeting, Team team, List<TaskList> tasks) {}
+
+    private record TaskSyncOp(TaskList task, TaskListResponseDto dto, String fingerprint, boolean insert) {}
+
+    public TaskListResponseDto apply2dto(TaskList task){
+
+        String description = task.getTitle();
+        User assigneeUser = task.getWorks().getAssignee();
+        String assignee = assigneeUser != null ? assigneeUser.getName() : "";
+        Status status = task.getStatus();
+
+        TaskListResponseDto dto =  new TaskListResponseDto(description, assignee, status);
 
 
 
 
+        return dto;
+
+    }
+
+    public void insertPages(List<TaskList> taskLists, Meeting meeting, Team team ) {
+        insertPagesAsync(taskLists, meeting, team).block();
+    }
 
+    public Mono<Void> insertPagesAsync(List<TaskList> taskLists, Meeting meeting, Team team) {
+        String databaseId = meeting.getNotionDatabaseId();
+
+        // 1. DTO 변환은 먼저 수행 (Notion 응답을 처리하는 스레드에서 엔티티 연관관계에 접근하지 않도록)
+        List<TaskListResponseDto> dtos = taskLists.stream().map(this::apply2dto).toList();
+
+        // 2. exportConcurrency 개까지 동시에 insert, 결과는 입력 순서 그대로 받음
+        //    실패한 항목은 Optional.empty()로 남겨서 성공한 항목의 notionTaskId는 잃지 않도록 함
+        return Flux.fromIterable(dtos)
+                .flatMapSequential(dto -> insertPageAsync(databaseId, dto, team)
+                        .map(Optional::of)
+                        .onErrorResume(e -> {
+                            log.error("Notion task insert 실패: description={}", dto.getDescription(), e);
+                            return Mono.just(Optional.empty());
+                        }), Math.max(1, exportConcurrency))
+                .collectList()
+                .publishOn(Schedulers.boundedElastic())
+                .doOnNext(taskIds -> saveExportedTaskIds(taskLists, dtos, taskIds))
+                .then();
+    }
 
+    // 3. 성공한 notionTaskId(와 다음 sync 비교용 fingerprint)를 한 번에 저장
+    private void saveExportedTaskIds(List<TaskList> taskLists, List<TaskListResponseDto> dtos, List<Optional<String>> taskIds) {
+        List<TaskList> exported = new ArrayList<>();
+        for (int i = 0; i < taskLists.size(); i++) {
+            TaskList taskList = taskLists.get(i);
+            String fingerprint = fingerprint(dtos.get(i));
+            taskIds.get(i).ifPresent(id -> {
+                taskList.setNotionTaskId(id);
+                taskList.setNotionFingerprint(fingerprint);
+                exported.add(taskList);
+            });
+        }
+        taskListRepository.saveAll(exported);
 
+        int failed = taskLists.size() - exported.size();
+        if (failed > 0) {
+            throw new IllegalStateException("Notion task insert 실패: " + failed + "/" + taskLists.size() + "건");
+        }
+    }
 
 }
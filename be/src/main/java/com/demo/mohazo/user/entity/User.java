@@ -32,6 +32,11 @@ public class User {
     @Column(name="field", nullable = false, length = 10)
     private Field field;
 
+    // 지금까지 할당된 works 수. 할당하는 트랜잭션에서 유저 행을 잠그고 함께 올림 (노드 사이 load 기준)
+    @Column(name="assigned_works")
+    @Builder.Default
+    private Integer assignedWorks = 0;
+
     // 아래는 나중에 팀장/팀원 admin/user 로그인 구현을 위함 (특정 기능 사용 제한)
     @Column(name="email", length = 20)
     private String email;
@@ -2,6 +2,25 @@ package com.demo.mohazo.user.repository;
 
 import com.demo.mohazo.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    // 할당 후보 (id, field) 만 조회
+    @Query("SELECT u.id, u.field FROM User u WHERE u.field IS NOT NULL ORDER BY u.id")
+    List<Object[]> findAllIdAndField();
+
+    // 할당 후보 (id, field, assigned_works) 를 id 순으로 잠가서 조회 (FOR UPDATE).
+    // 같은 Field 를 할당하는 트랜잭션끼리는 순서대로 실행되므로 작업 수를 최신 값으로 읽고 올릴 수 있음
+    @Query(value = "SELECT id, field, COALESCE(assigned_works, 0) FROM user WHERE field IN (:fields) ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Object[]> lockLoadsByFieldIn(List<String> fields);
+
+    @Modifying
+    @Query("UPDATE User u SET u.assignedWorks = COALESCE(u.assignedWorks, 0) + :count WHERE u.id = :id")
+    int addAssignedWorks(Long id, int count);
+
 }
@@ -1,12 +1,15 @@
 package com.demo.mohazo.works.Controller;
 
+import com.demo.mohazo.common.domain.AssignStrategy;
 import com.demo.mohazo.common.dto.ApiResponse;
+import com.demo.mohazo.works.dto.WorksAssignStreamResponseDto;
 import com.demo.mohazo.works.entity.Works;
 import com.demo.mohazo.works.service.WorksService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -20,10 +23,19 @@ public class WorkAssigneeController {
 
 
     @PostMapping
-    public ResponseEntity<?> assignTask(){
+    public ResponseEntity<?> assignTask(
+            @RequestParam(name = "strategy", defaultValue = "FIELD") AssignStrategy strategy){
 
-        List<Works> worksList = worksService.assignworks();
+        List<Works> worksList = worksService.assignworks(strategy);
         return ResponseEntity.ok().body(new ApiResponse<>("Task assign success", worksList));
     }
 
+    // 미할당 작업이 아주 많을 때: chunk 단위로 할당하고 건수만 돌려줌
+    @PostMapping("/stream")
+    public ResponseEntity<?> assignTaskStreaming(){
+
+        WorksAssignStreamResponseDto result = worksService.assignworksStreaming();
+        return ResponseEntity.ok().body(new ApiResponse<>("Task assign success", result));
+    }
+
 }
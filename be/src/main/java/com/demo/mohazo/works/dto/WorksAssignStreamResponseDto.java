@@ -0,0 +1,16 @@
+package com.demo.mohazo.works.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+// POST /api/work/assign/stream 결과 (작업 목록 대신 건수만 돌려줌)
+@Getter
+@Builder
+@AllArgsConstructor
+public class WorksAssignStreamResponseDto {
+    private long assigned;  // 이번에 할당된 작업 수
+    private long skipped;   // 같은 Field 유저가 없거나, 처리 중 다른 요청이 먼저 할당한 작업 수
+    private int chunks;     // 처리한 chunk 수
+    private long elapsedMs;
+}
@@ -2,16 +2,23 @@ package com.demo.mohazo.works.entity;
 
 import com.demo.mohazo.common.domain.Field;
 import com.demo.mohazo.user.entity.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "works")
+@Table(name = "works",
+        indexes = {
+                @Index(name = "idx_works_assignee_id", columnList = "assignee, id"),
+                @Index(name = "idx_works_claimed_by", columnList = "claimed_by")
+        })
 public class Works {
 
     @Id
@@ -35,4 +42,13 @@ public class Works {
     @Column(name="level", nullable = false)
     private Integer level;
 
+    // 할당 중인 요청(노드)의 claim token. 할당이 끝나면 비움 (할당 내부 상태라서 응답에는 넣지 않음)
+    @JsonIgnore
+    @Column(name="claimed_by", length = 36)
+    private String claimedBy;
+
+    @JsonIgnore
+    @Column(name="claimed_at")
+    private LocalDateTime claimedAt; // claim 한 시각 (오래된 claim 은 다른 요청이 다시 가져감)
+
 }
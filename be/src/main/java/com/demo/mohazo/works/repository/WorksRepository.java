@@ -1,9 +1,16 @@
 package com.demo.mohazo.works.repository;
 
 import com.demo.mohazo.works.entity.Works;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface WorksRepository extends JpaRepository<Works, Integer> {
@@ -15,4 +22,38 @@ public interface WorksRepository extends JpaRepository<Works, Integer> {
 
     List<Works> findByAssigneeIsNull();
 
+    // 아무도 claim 하지 않은(또는 claim 이 만료된) 미할당 작업 id 를 id 순으로 (keyset)
+    @Query("SELECT w.id FROM Works w WHERE w.assignee IS NULL " +
+            "AND (w.claimedBy IS NULL OR w.claimedAt < :staleBefore) " +
+            "AND w.id > :cursor ORDER BY w.id")
+    List<Long> findClaimableIds(Long cursor, LocalDateTime staleBefore, Pageable pageable);
+
+    // 조건부 UPDATE 로 가져가기 때문에 여러 요청(노드)이 같은 작업을 동시에 잡지 않음 (POST /api/work/assign, /assign/stream)
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Works w SET w.claimedBy = :token, w.claimedAt = :now " +
+            "WHERE w.id IN :worksIds AND w.assignee IS NULL " +
+            "AND (w.claimedBy IS NULL OR w.claimedAt < :staleBefore)")
+    int claim(List<Long> worksIds, String token, LocalDateTime now, LocalDateTime staleBefore);
+
+    // 할당은 assignClaimed 로만 저장하므로 dirty checking 으로 한 건씩 UPDATE 되지 않게 read-only 로 읽음
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Works> findByClaimedByOrderById(String claimedBy);
+
+    // claim 한 작업의 (id, field) 만 조회
+    @Query("SELECT w.id, w.field FROM Works w WHERE w.claimedBy = :token ORDER BY w.id")
+    List<Object[]> findClaimed(String token);
+
+    // 같은 유저에게 가는 작업을 UPDATE 한 번으로 할당. 이 token 으로 claim 한 작업만 건드림
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE works SET assignee = :assigneeId, claimed_by = NULL, claimed_at = NULL " +
+            "WHERE id IN (:worksIds) AND claimed_by = :token AND assignee IS NULL",
+            nativeQuery = true)
+    int assignClaimed(Long assigneeId, List<Long> worksIds, String token);
+
+    // 할당하지 못한 작업(해당 Field 유저 없음)의 claim 을 풀어줌
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Works w SET w.claimedBy = NULL, w.claimedAt = NULL WHERE w.claimedBy = :token")
+    int releaseClaims(String token);
+
 }
@@ -0,0 +1,29 @@
+package com.demo.mohazo.works.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * user.assigned_works 가 추가되기 전에 있던 유저(값이 NULL)는 works 테이블에서 세어서 채운다.
+ * 이후로는 할당하는 트랜잭션이 유저 행을 잠그고 함께 올리므로 다시 셀 필요가 없다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AssignedWorksBackfill {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int updated = jdbcTemplate.update("UPDATE user u SET assigned_works = " +
+                "(SELECT COUNT(*) FROM works w WHERE w.assignee = u.id) WHERE u.assigned_works IS NULL");
+        if (updated > 0) {
+            log.info("user.assigned_works 채움: users={}", updated);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.demo.mohazo.works.service;
+
+import com.demo.mohazo.common.domain.Field;
+import com.demo.mohazo.user.entity.User;
+import com.demo.mohazo.works.entity.Works;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Field 별 작업 묶음을 min-cost flow 로 풀어서 전체 비용이 가장 작은 할당을 구한다.
+ *
+ *   비용 = level 가중치 × Σ |작업 level - 유저 level|  +  load 가중치 × Σ (유저가 k 번째로 받는 작업의 k, 기존 작업 수 포함)
+ *
+ * load 비용은 작업을 하나 더 받을 때마다 커지므로(convex) 한 유저에게 몰리지 않고 고르게 나뉜다.
+ * source → 작업 → 유저 → sink 그래프에서 작업 하나씩 최단 경로(Dijkstra + potential)로 흘려 보내며,
+ * 경로가 이미 할당된 작업을 다른 유저로 옮기는 것도 포함하므로 앞에서 고른 할당도 다시 조정된다.
+ * 작업 하나당 O(U^2 × level 종류 수) 이므로 유저가 많은 Field 는 시간 예산을 넘길 수 있다.
+ *
+ * deadline 을 넘기면 중간 결과를 버리고 null 을 돌려준다 (호출하는 쪽에서 기존 greedy 로 할당).
+ */
+public final class LevelBalancedSolver {
+
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    private final Map<Field, List<User>> usersByField = new EnumMap<>(Field.class);
+    private final Map<Long, Integer> loads = new HashMap<>();
+    private final long levelWeight;
+    private final long loadWeight;
+
+    /**
+     * @param users          할당 후보 유저 (field 가 없는 유저는 제외)
+     * @param assignedCounts 유저별 현재 작업 수 (userId, count). 잠가서 읽은 user.assigned_works
+     */
+    public LevelBalancedSolver(List<User> users, List<Object[]> assignedCounts, int levelWeight, int loadWeight) {
+        for (User user : users) {
+            if (user.getField() != null) {
+                usersByField.computeIfAbsent(user.getField(), f -> new ArrayList<>()).add(user);
+            }
+        }
+        for (Object[] row : assignedCounts) {
+            loads.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+        }
+        this.levelWeight = levelWeight;
+        this.loadWeight = loadWeight;
+    }
+
+    /**
+     * field 가 같은 작업 묶음을 할당한다. 반환 배열의 i 번째가 works.get(i) 의 유저.
+     * 해당 field 에 유저가 없으면 모두 null, deadline(System.nanoTime 기준)을 넘기면 배열 대신 null.
+     */
+    public User[] solve(Field field, List<Works> works, long deadlineNanos) {
+        List<User> candidates = field == null ? List.of() : usersByField.getOrDefault(field, List.of());
+        User[] result = new User[works.size()];
+        if (candidates.isEmpty() || works.isEmpty()) {
+            return result;
+        }
+
+        int[] assignment = new Network(candidates, works).run(deadlineNanos);
+        if (assignment == null) {
+            return null;
+        }
+        for (int i = 0; i < result.length; i++) {
+            result[i] = candidates.get(assignment[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 할당 결과의 총 비용 (위 식). 결과 비교(benchmark / test)용.
+     */
+    public long cost(List<Works> works, User[] assigned) {
+        Map<Long, Integer> next = new HashMap<>(loads);
+        long total = 0;
+        for (int i = 0; i < assigned.length; i++) {
+            User user = assigned[i];
+            if (user == null) {
+                continue;
+            }
+            int load = next.getOrDefault(user.getId(), 0);
+            next.put(user.getId(), load + 1);
+            total += levelWeight * Math.abs(levelOf(works.get(i)) - levelOf(user)) + loadWeight * load;
+        }
+        return total;
+    }
+
+    private static int levelOf(Works work) {
+        return work.getLevel() == null ? 0 : work.getLevel();
+    }
+
+    private static int levelOf(User user) {
+        return user.getLevel() == null ? 0 : user.getLevel();
+    }
+
+    /*
+     * 작업 node 는 들어오는 간선이 하나뿐이므로 (미할당 작업은 source, 할당된 작업은 그 유저) 유저 사이 간선으로 접는다.
+     *   source → 유저 k : 미할당 작업 중 edge(i, k) 최소
+     *   유저 j → 유저 k : j 가 가진 작업 i 를 k 로 옮김, edge(i, k) - edge(i, j) 최소
+     *   유저 j → sink   : j 가 작업을 하나 더 받음, load 비용
+     * 비용은 작업의 level 에만 의존하므로 작업을 (유저, level) 묶음으로 세면 Dijkstra 한 번이 O(U^2 × level 종류 수).
+     */
+    private final class Network {
+        private final int w;
+        private final int u;
+        private final int levels;        // 묶음 안의 서로 다른 작업 level 수
+        private final int[] worksLevel;  // 작업 -> level index
+        private final long[] edge;       // [level index × u + 유저] = level 차이 비용
+        private final int[] userLoads;
+        private final int[] assignedTo;  // 작업 -> 유저 index (-1 = 미할당)
+
+        // bucket (유저 j, level d) = j × levels + d, 미할당 level d = u × levels + d. 작업 index 의 linked stack
+        private final int[] bucketHead;
+        private final int[] bucketSize;
+        private final int[] nextInBucket;
+
+        private final long[] potential;  // 유저 0..U-1, sink U
+        private final long[] dist;
+        private final int[] prevUser;    // -1 = source
+        private final int[] prevLevel;
+        private final boolean[] done;
+
+        private Network(List<User> candidates, List<Works> works) {
+            this.w = works.size();
+            this.u = candidates.size();
+
+            int[] distinct = works.stream().mapToInt(LevelBalancedSolver::levelOf).distinct().sorted().toArray();
+            this.levels = distinct.length;
+            this.worksLevel = new int[w];
+            for (int i = 0; i < w; i++) {
+                worksLevel[i] = Arrays.binarySearch(distinct, levelOf(works.get(i)));
+            }
+
+            this.edge = new long[levels * u];
+            this.userLoads = new int[u];
+            for (int j = 0; j < u; j++) {
+                int userLevel = levelOf(candidates.get(j));
+                for (int d = 0; d < levels; d++) {
+                    edge[d * u + j] = levelWeight * Math.abs(distinct[d] - userLevel);
+                }
+                userLoads[j] = loads.getOrDefault(candidates.get(j).getId(), 0);
+            }
+
+            this.assignedTo = new int[w];
+            this.bucketHead = new int[(u + 1) * levels];
+            this.bucketSize = new int[(u + 1) * levels];
+            this.nextInBucket = new int[w];
+            Arrays.fill(assignedTo, -1);
+            Arrays.fill(bucketHead, -1);
+            for (int i = w - 1; i >= 0; i--) {
+                push(u * levels + worksLevel[i], i);
+            }
+
+            this.potential = new long[u + 1];
+            this.dist = new long[u + 1];
+            this.prevUser = new int[u + 1];
+            this.prevLevel = new int[u + 1];
+            this.done = new boolean[u + 1];
+        }
+
+        private int[] run(long deadlineNanos) {
+            for (int flow = 0; flow < w; flow++) {
+                if (System.nanoTime() - deadlineNanos > 0) {
+                    return null;
+                }
+                shortestPath();
+                augment();
+            }
+            return assignedTo;
+        }
+
+        // 간선이 빽빽하므로 heap 없이 O(V^2) Dijkstra. reduced cost = cost + p(from) - p(to) >= 0
+        private void shortestPath() {
+            Arrays.fill(dist, INF);
+            Arrays.fill(done, false);
+            for (int k = 0; k < u; k++) {
+                for (int d = 0; d < levels; d++) {
+                    if (bucketSize[u * levels + d] > 0) {
+                        relax(-1, 0, k, d, edge[d * u + k]);
+                    }
+                }
+            }
+
+            for (int pop = 0; pop < u; pop++) {
+                int j = -1;
+                for (int k = 0; k < u; k++) {
+                    if (!done[k] && dist[k] < INF && (j < 0 || dist[k] < dist[j])) {
+                        j = k;
+                    }
+                }
+                if (j < 0) {
+                    break;
+                }
+                done[j] = true;
+
+                relax(j, dist[j], u, -1, loadWeight * userLoads[j]);
+                for (int d = 0; d < levels; d++) {
+                    if (bucketSize[j * levels + d] == 0) {
+                        continue;
+                    }
+                    long back = edge[d * u + j];
+                    for (int k = 0; k < u; k++) {
+                        if (k != j && !done[k]) {
+                            relax(j, dist[j], k, d, edge[d * u + k] - back);
+                        }
+                    }
+                }
+            }
+
+            // 모든 유저가 source 에서 닿으므로 (미할당 작업은 모든 유저로 갈 수 있음) 전부 확정된 dist 로 갱신
+            for (int v = 0; v <= u; v++) {
+                potential[v] += dist[v];
+            }
+        }
+
+        private void relax(int from, long fromDist, int to, int level, long cost) {
+            long candidate = fromDist + cost + (from < 0 ? 0 : potential[from]) - potential[to];
+            if (candidate < dist[to]) {
+                dist[to] = candidate;
+                prevUser[to] = from;
+                prevLevel[to] = level;
+            }
+        }
+
+        // 경로를 거꾸로 따라가며 작업을 옮긴다. 작업 수는 마지막 유저(sink 직전)만 1 늘어남
+        private void augment() {
+            int k = prevUser[u];
+            userLoads[k]++;
+            while (k >= 0) {
+                int j = prevUser[k];
+                int d = prevLevel[k];
+                int work = pop(j < 0 ? u * levels + d : j * levels + d);
+                push(k * levels + d, work);
+                assignedTo[work] = k;
+                k = j;
+            }
+        }
+
+        private void push(int bucket, int work) {
+            nextInBucket[work] = bucketHead[bucket];
+            bucketHead[bucket] = work;
+            bucketSize[bucket]++;
+        }
+
+        private int pop(int bucket) {
+            int work = bucketHead[bucket];
+            bucketHead[bucket] = nextInBucket[work];
+            bucketSize[bucket]--;
+            return work;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.demo.mohazo.works.service;
+
+import com.demo.mohazo.common.domain.Field;
+import com.demo.mohazo.user.entity.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Field 별로 "현재 작업 수가 가장 적은 유저"를 O(log U) 에 고르는 할당기.
+ *
+ * Field 마다 유저 위치(userList 안의 순서)를 담은 binary min-heap 을 두고,
+ * (작업 수, 위치) 순으로 비교한다. 작업 수가 같으면 목록에서 앞선 유저가 먼저 뽑히므로
+ * 기존 선형 탐색(앞에서부터 더 적은 유저를 찾는 방식)과 같은 결과가 나온다.
+ * 작업 수와 heap 은 모두 int 배열로 보관해서 할당 중에 boxing 이 일어나지 않는다.
+ */
+public final class WorkAssignmentEngine {
+
+    private final Map<Field, FieldHeap> heaps = new EnumMap<>(Field.class);
+
+    /**
+     * @param users          할당 후보 유저 (field 가 없는 유저는 제외)
+     * @param assignedCounts 유저별 현재 작업 수 (userId, count). 잠가서 읽은 user.assigned_works
+     */
+    public WorkAssignmentEngine(List<User> users, List<Object[]> assignedCounts) {
+        LoadTable loads = new LoadTable(assignedCounts);
+
+        Map<Field, List<User>> usersByField = new EnumMap<>(Field.class);
+        for (User user : users) {
+            if (user.getField() != null) {
+                usersByField.computeIfAbsent(user.getField(), f -> new ArrayList<>()).add(user);
+            }
+        }
+        usersByField.forEach((field, candidates) -> heaps.put(field, new FieldHeap(candidates, loads)));
+    }
+
+    /**
+     * field 에서 작업 수가 가장 적은 유저를 고르고 그 유저의 작업 수를 1 늘린다.
+     * 해당 field 에 유저가 없으면 null.
+     */
+    public User assign(Field field) {
+        FieldHeap heap = field == null ? null : heaps.get(field);
+        return heap == null ? null : heap.pollAndIncrement();
+    }
+
+    private static final class FieldHeap {
+        private final User[] users;   // 위치 -> 유저 (목록 순서)
+        private final int[] loads;    // 위치 -> 현재 작업 수
+        private final int[] heap;     // heap 배열, 값은 위치
+
+        private FieldHeap(List<User> candidates, LoadTable loadTable) {
+            int n = candidates.size();
+            this.users = candidates.toArray(new User[0]);
+            this.loads = new int[n];
+            this.heap = new int[n];
+            for (int i = 0; i < n; i++) {
+                loads[i] = loadTable.loadOf(users[i].getId());
+                heap[i] = i;
+            }
+            // bottom-up heapify O(U)
+            for (int i = n / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        private User pollAndIncrement() {
+            int best = heap[0];
+            loads[best]++;
+            siftDown(0); // 작업 수가 늘어난 root 만 아래로 내림
+            return users[best];
+        }
+
+        private void siftDown(int i) {
+            int n = heap.length;
+            int position = heap[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= n) {
+                    break;
+                }
+                if (child + 1 < n && less(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!less(heap[child], position)) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = position;
+        }
+
+        private boolean less(int a, int b) {
+            return loads[a] < loads[b] || (loads[a] == loads[b] && a < b);
+        }
+    }
+
+    // userId -> 기존 작업 수. 정렬된 long[] 에서 이진 탐색
+    private static final class LoadTable {
+        private final long[] userIds;
+        private final int[] counts;
+
+        private LoadTable(List<Object[]> assignedCounts) {
+            List<Object[]> rows = new ArrayList<>(assignedCounts);
+            rows.sort(Comparator.comparingLong(row -> ((Number) row[0]).longValue()));
+
+            this.userIds = new long[rows.size()];
+            this.counts = new int[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                userIds[i] = ((Number) rows.get(i)[0]).longValue();
+                counts[i] = ((Number) rows.get(i)[1]).intValue();
+            }
+        }
+
+        private int loadOf(Long userId) {
+            if (userId == null) {
+                return 0;
+            }
+            int index = Arrays.binarySearch(userIds, userId);
+            return index >= 0 ? counts[index] : 0;
+        }
+    }
+}
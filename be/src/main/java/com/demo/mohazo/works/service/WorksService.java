@@ -1,25 +1,64 @@
 package com.demo.mohazo.works.service;
 
+import com.demo.mohazo.common.domain.AssignStrategy;
 import com.demo.mohazo.common.domain.Field;
+import com.demo.mohazo.common.service.MohajoAlgorithm;
 import com.demo.mohazo.user.entity.User;
 import com.demo.mohazo.user.repository.UserRepository;
+import com.demo.mohazo.works.dto.WorksAssignStreamResponseDto;
 import com.demo.mohazo.works.entity.Works;
 import com.demo.mohazo.works.repository.WorksRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class WorksService {
 
     private final WorksRepository worksRepository;
     private final UserRepository userRepository;
+    private final MohajoAlgorithm mohajoAlgorithm;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${works.assign.solver.weight.level:3}")
+    private int solverLevelWeight;
+
+    @Value("${works.assign.solver.weight.load:1}")
+    private int solverLoadWeight;
+
+    @Value("${works.assign.solver.time-budget-ms:2000}")
+    private long solverTimeBudgetMs;
+
+    @Value("${works.assign.stream.chunk-size:1000}")
+    private int streamChunkSize;
+
+    @Value("${works.assign.batch-size:1000}")
+    private int assignBatchSize;
+
+    @Value("${works.assign.claim.lease-ms:300000}")
+    private long claimLeaseMs;
 
     public List<Works> getWorkGroupsByIds(List<Long> workIds) {
         // 1. 방어 코드: 리스트가 비어있으면 쿼리를 날리지 않고 빈 리스트 반환
@@ -33,67 +72,239 @@ public class WorksService {
         return workList;
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Works> assignworks() {
-        // 1. 할당되지 않은 Works 조회
-        List<Works> unassignedWorks = worksRepository.findByAssigneeIsNull();
+        return assignworks(AssignStrategy.FIELD);
+    }
+
+    /**
+     * 미할당 작업을 batch(works.assign.batch-size) 단위로 claim 해서 할당한다.
+     * chunk 할당처럼 작업을 id 순(keyset)으로 claim 하고, batch 마다 claim 한 작업의 Field 유저 행만 잠가서
+     * 최신 작업 수로 할당한 뒤 커밋한다. 다른 요청(노드)이 claim 한 batch 는 건너뛰므로
+     * 동시에 실행하면 서로 다른 batch 를 나눠서 할당한다.
+     * batch 마다 커밋하므로 호출한 쪽의 트랜잭션에는 참여하지 않는다 (NOT_SUPPORTED).
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Works> assignworks(AssignStrategy strategy) {
+        String token = UUID.randomUUID().toString();
+        // OPTIMAL 시간 예산은 요청 전체 기준. 넘기면 남은 batch 는 greedy 로
+        long solverDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(solverTimeBudgetMs);
+
+        List<Works> result = new ArrayList<>();
+        long cursor = 0;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> candidates = worksRepository.findClaimableIds(cursor, staleBefore(now),
+                    PageRequest.of(0, assignBatchSize));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            cursor = candidates.get(candidates.size() - 1);
+
+            // claim 은 바로 커밋해서 다른 요청이 이 batch 를 기다리지 않고 다음 batch 로 가게 함
+            if (claim(candidates, token, now) > 0) {
+                result.addAll(transactionTemplate.execute(status -> assignClaimedBatch(token, strategy, solverDeadline)));
+            }
+        }
+        return result;
+    }
 
+    // 이 token 으로 claim 한 batch 를 strategy 로 할당하고, 할당 결과(assignee 가 채워진 Works)를 돌려준다
+    private List<Works> assignClaimedBatch(String token, AssignStrategy strategy, long solverDeadline) {
+        List<Works> unassignedWorks = worksRepository.findByClaimedByOrderById(token);
         if (unassignedWorks.isEmpty()) {
-            return Collections.emptyList();
+            return List.of();
+        }
+
+        // claim 한 작업의 Field 유저 행만 id 순으로 잠그고 (chunk 할당과 같은 순서) 잠근 행의 작업 수를 사용
+        List<String> fields = unassignedWorks.stream()
+                .map(Works::getField)
+                .filter(field -> field != null)
+                .map(Field::name)
+                .distinct()
+                .sorted()
+                .toList();
+        List<Long> userIds = new ArrayList<>();
+        List<Object[]> assignedCounts = new ArrayList<>();
+        if (!fields.isEmpty()) {
+            for (Object[] row : userRepository.lockLoadsByFieldIn(fields)) {
+                Long userId = ((Number) row[0]).longValue();
+                userIds.add(userId);
+                assignedCounts.add(new Object[] { userId, row[2] });
+            }
+        }
+        // findAllById 의 결과 순서는 DB 에 따라 다르므로 id 순으로 정렬 (작업 수가 같으면 id 가 작은 유저부터, chunk 할당과 같음)
+        List<User> candidates = userIds.isEmpty() ? List.of() : userRepository.findAllById(userIds).stream()
+                .sorted(Comparator.comparing(User::getId))
+                .toList();
+
+        // SKILL: 같은 Field 안에서 기술 스택 / level / 작업 수 점수로 할당
+        if (strategy == AssignStrategy.SKILL) {
+            mohajoAlgorithm.Classfication(unassignedWorks, candidates, assignedCounts);
+        } else if (strategy == AssignStrategy.OPTIMAL) {
+            // OPTIMAL: Field 별 묶음을 min-cost flow 로 할당, 시간 안에 못 풀면 아래 greedy 로
+            // 못 푼 Field 의 작업만 greedy 로 (Field 가 다르면 유저도 겹치지 않으므로 잠근 작업 수를 그대로 사용)
+            assignGreedy(assignOptimal(unassignedWorks, candidates, assignedCounts, solverDeadline), candidates, assignedCounts);
+        } else {
+            assignGreedy(unassignedWorks, candidates, assignedCounts);
         }
 
-        // 2. 전체 User 조회
-        List<User> allUsers = userRepository.findAll();
+        // claim 한 작업만 유저별 UPDATE 로 저장하고 남은 claim 은 풀어줌
+        Map<Long, List<Long>> worksIdsByUser = new LinkedHashMap<>();
+        for (Works work : unassignedWorks) {
+            if (work.getAssignee() != null) {
+                worksIdsByUser.computeIfAbsent(work.getAssignee().getId(), id -> new ArrayList<>()).add(work.getId());
+            }
+        }
+        writeAssignments(worksIdsByUser, token);
+        worksRepository.releaseClaims(token);
+        return unassignedWorks;
+    }
+
+    /**
+     * 미할당 작업이 아주 많을 때용 FIELD 할당. 여러 노드에서 동시에 실행해도 된다.
+     * 작업을 id 순으로 chunk 단위(keyset)로 claim 해서 (id, field) 만 다루고, 같은 유저에게 가는 작업은
+     * UPDATE ... WHERE id IN (...) 한 번으로 저장한다. chunk 마다 트랜잭션을 커밋하고 영속성 컨텍스트를 비우므로
+     * 작업 수와 상관없이 메모리 사용량이 일정하다.
+     * 다른 노드가 claim 한 chunk 는 건너뛰고, 작업 수는 chunk 마다 잠근 유저 행(assigned_works)에서 읽고 올린다.
+     */
+    public WorksAssignStreamResponseDto assignworksStreaming() {
+        long start = System.nanoTime();
+        String token = UUID.randomUUID().toString();
+
+        long cursor = 0;
+        long assigned = 0;
+        long skipped = 0;
+        int chunks = 0;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> candidates = worksRepository.findClaimableIds(cursor, staleBefore(now),
+                    PageRequest.of(0, streamChunkSize));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            cursor = candidates.get(candidates.size() - 1);
+            chunks++;
 
-        // 3. User를 Field별로 그룹화
-        Map<Field, List<User>> usersByField = allUsers.stream()
-                .collect(Collectors.groupingBy(User::getField));
+            // claim 은 바로 커밋해서 다른 노드가 이 작업들을 기다리지 않고 다음 chunk 로 가게 함
+            int chunkAssigned = claim(candidates, token, now) == 0
+                    ? 0
+                    : transactionTemplate.execute(status -> assignClaimedChunk(token));
+            assigned += chunkAssigned;
+            skipped += candidates.size() - chunkAssigned;
+        }
 
-        // 4. 각 사용자의 현재 할당된 작업 수를 조회 (DB에서 카운트)
-        List<Object[]> currentCounts = worksRepository.countWorksPerAssignee();
-        Map<Long, Integer> userWorkCounts = new HashMap<>();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("작업 streaming 할당 완료: assigned={}, skipped={}, chunks={}, {}ms", assigned, skipped, chunks, elapsedMs);
+        return WorksAssignStreamResponseDto.builder()
+                .assigned(assigned)
+                .skipped(skipped)
+                .chunks(chunks)
+                .elapsedMs(elapsedMs)
+                .build();
+    }
 
-        // 초기화: 모든 유저 0으로 세팅 (혹시 DB 조회 결과에 없는 유저 대비)
-        for (User user : allUsers) {
-            userWorkCounts.put(user.getId(), 0);
+    private int claim(List<Long> worksIds, String token, LocalDateTime now) {
+        try {
+            return worksRepository.claim(worksIds, token, now, staleBefore(now));
+        } catch (ConcurrencyFailureException e) {
+            // 다른 노드와 같은 행을 동시에 claim 하다 lock 에 걸림 -> 그 노드가 가져간 것으로 보고 건너뜀
+            log.debug("작업 claim 충돌, chunk 건너뜀: {}", e.getMessage());
+            return 0;
         }
-        // DB 카운트 반영
-        for (Object[] row : currentCounts) {
-            Long userId = (Long) row[0];
-            Long count = (Long) row[1];
-            userWorkCounts.put(userId, count.intValue());
+    }
+
+    // 이 token 으로 claim 한 chunk 를 할당. 할당 후보 유저 행을 id 순으로 잠그고 최신 작업 수로 고른다
+    private int assignClaimedChunk(String token) {
+        List<Object[]> rows = worksRepository.findClaimed(token);
+        if (rows.isEmpty()) {
+            return 0;
         }
 
-        // 5. 할당 로직 실행
-        for (Works work : unassignedWorks) {
-            Field workField = work.getField();
-            List<User> candidates = usersByField.get(workField);
+        List<String> fields = rows.stream().map(row -> ((Field) row[1]).name()).distinct().sorted().toList();
+        List<User> candidates = new ArrayList<>();
+        List<Object[]> loads = new ArrayList<>();
+        for (Object[] row : userRepository.lockLoadsByFieldIn(fields)) {
+            Long userId = ((Number) row[0]).longValue();
+            candidates.add(User.builder().id(userId).field(Field.valueOf((String) row[1])).build());
+            loads.add(new Object[] { userId, row[2] });
+        }
+        WorkAssignmentEngine engine = new WorkAssignmentEngine(candidates, loads);
 
-            if (candidates == null || candidates.isEmpty()) {
-                // 해당 분야의 유저가 없으면 할당 스킵 (로그 필요시 추가)
-                continue;
+        // userId -> 이번 chunk 에서 받은 작업 id (해당 분야 유저가 없으면 스킵)
+        Map<Long, List<Long>> worksIdsByUser = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            User bestCandidate = engine.assign((Field) row[1]);
+            if (bestCandidate != null) {
+                worksIdsByUser.computeIfAbsent(bestCandidate.getId(), id -> new ArrayList<>()).add((Long) row[0]);
             }
+        }
+
+        int assigned = writeAssignments(worksIdsByUser, token);
+        worksRepository.releaseClaims(token);
+        entityManager.clear();
+        return assigned;
+    }
 
-            // 가장 적은 작업을 가진 유저 찾기 (균등 분배)
-            User bestCandidate = null;
-            int minCount = Integer.MAX_VALUE;
+    // 이 시각 이전에 claim 된 작업은 claim 한 요청이 죽은 것으로 보고 다시 가져감
+    private LocalDateTime staleBefore(LocalDateTime now) {
+        return now.minus(Duration.ofMillis(claimLeaseMs));
+    }
 
-            for (User candidate : candidates) {
-                int count = userWorkCounts.getOrDefault(candidate.getId(), 0);
-                if (count < minCount) {
-                    minCount = count;
-                    bestCandidate = candidate;
-                }
+    // 유저별로 UPDATE ... IN 한 번씩 저장하고, 실제로 할당된 수만큼 그 유저의 assigned_works 를 올린다
+    private int writeAssignments(Map<Long, List<Long>> worksIdsByUser, String token) {
+        int assigned = 0;
+        for (Map.Entry<Long, List<Long>> entry : worksIdsByUser.entrySet()) {
+            int updated = worksRepository.assignClaimed(entry.getKey(), entry.getValue(), token);
+            if (updated > 0) {
+                userRepository.addAssignedWorks(entry.getKey(), updated);
             }
+            assigned += updated;
+        }
+        return assigned;
+    }
 
-            // 할당 및 카운트 업데이트
+    private void assignGreedy(List<Works> unassignedWorks, List<User> allUsers, List<Object[]> assignedCounts) {
+        // 3~4. Field 별로 유저를 현재 할당된 작업 수(DB 카운트) 기준 min-heap 에 넣음
+        WorkAssignmentEngine engine = new WorkAssignmentEngine(allUsers, assignedCounts);
+
+        // 5. 할당 로직 실행: 작업마다 해당 분야에서 가장 적은 작업을 가진 유저에게 할당 (균등 분배, O(log U))
+        for (Works work : unassignedWorks) {
+            User bestCandidate = engine.assign(work.getField());
+
+            // 해당 분야의 유저가 없으면 할당 스킵
             if (bestCandidate != null) {
                 work.setAssignee(bestCandidate);
-                userWorkCounts.put(bestCandidate.getId(), minCount + 1);
             }
         }
+    }
 
-        // 6. 변경사항 저장
-        return worksRepository.saveAll(unassignedWorks);
+    // Field 별로 solver 를 돌리고, 시간 예산 안에 풀지 못한 Field 의 작업 목록을 돌려준다
+    private List<Works> assignOptimal(List<Works> unassignedWorks, List<User> allUsers, List<Object[]> assignedCounts,
+                                      long deadline) {
+        Map<Field, List<Works>> worksByField = new EnumMap<>(Field.class);
+        for (Works work : unassignedWorks) {
+            if (work.getField() != null) {
+                worksByField.computeIfAbsent(work.getField(), f -> new ArrayList<>()).add(work);
+            }
+        }
+
+        LevelBalancedSolver solver = new LevelBalancedSolver(allUsers, assignedCounts, solverLevelWeight, solverLoadWeight);
+        List<Works> remaining = new ArrayList<>();
+        worksByField.forEach((field, works) -> {
+            User[] assigned = solver.solve(field, works, deadline);
+            if (assigned == null) {
+                log.warn("작업 할당 solver 시간 초과, greedy 로 할당: field={}, works={}", field, works.size());
+                remaining.addAll(works);
+                return;
+            }
+            for (int i = 0; i < assigned.length; i++) {
+                if (assigned[i] != null) {
+                    works.get(i).setAssignee(assigned[i]);
+                }
+            }
+        });
+        return remaining;
     }
 
 }
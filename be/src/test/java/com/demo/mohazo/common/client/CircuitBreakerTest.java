@@ -0,0 +1,93 @@
+package com.demo.mohazo.common.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker circuitBreaker =
+            new CircuitBreaker("test", 4, 4, 0.5, Duration.ofSeconds(10), 1, now::get);
+
+    @Test
+    @DisplayName("최근 호출 실패율이 기준 이상이면 열리고, 열려 있는 동안 호출을 거절한다.")
+    void opensAtFailureRate() {
+        // given
+        call(true);
+        call(false);
+        call(false);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED); // 최소 호출 수 미만
+
+        // when
+        call(true);
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.isCallPermitted()).isFalse();
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("열린 시간이 지나면 probe 하나만 통과시키고, 성공하면 닫히고 실패하면 다시 열린다.")
+    void halfOpenProbe() {
+        // given
+        open();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // when: probe 실패
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse(); // probe 는 1개만
+        circuitBreaker.onFailure();
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // when: 다시 기다린 뒤 probe 성공
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        circuitBreaker.onSuccess();
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getFailureRate()).isZero();
+    }
+
+    @Test
+    @DisplayName("실패는 최근 window 안에서만 센다.")
+    void slidingWindow() {
+        // given
+        call(true);
+        call(false);
+        call(false);
+        call(false); // 1/4
+
+        // when: 첫 실패가 window 에서 밀려남
+        call(false);
+        call(true); // 1/4
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getFailureRate()).isEqualTo(0.25);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+    }
+
+    private void call(boolean failed) {
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        if (failed) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.demo.mohazo.common.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class FastApiResilienceFilterTest {
+
+    @Mock
+    private HttpRequest request;
+
+    @Mock
+    private ClientHttpRequestExecution execution;
+
+    @Mock
+    private ExchangeFunction exchange;
+
+    // window 4, 최소 4회, 실패율 50%, bulkhead 자리 1개
+    private final FastApiResilience resilience = new FastApiResilience(
+            new SimpleMeterRegistry(), 4, 4, 0.5, 30000, 1, 45000, 1, 100);
+
+    @Test
+    @DisplayName("RestClient 호출 실패로 circuit 이 열리면 스트리밍 호출도 AI 서버로 보내지 않고 거절한다.")
+    void openCircuit_RejectsStreamingCall() throws Exception {
+        // given: fastApiRestClient 경로에서 연결 오류 4번
+        FastApiResilienceInterceptor interceptor = new FastApiResilienceInterceptor(resilience);
+        given(request.getURI()).willReturn(URI.create("http://ai/generate"));
+        given(execution.execute(any(), any())).willThrow(new IOException("connection refused"));
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> interceptor.intercept(request, new byte[0], execution))
+                    .isInstanceOf(IOException.class);
+        }
+        assertThat(resilience.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // when
+        FastApiResilienceFilter filter = new FastApiResilienceFilter(resilience);
+        ClientRequest streamRequest = ClientRequest.create(HttpMethod.POST, URI.create("http://ai/generate/stream")).build();
+
+        // then
+        StepVerifier.create(filter.filter(streamRequest, exchange))
+                .expectError(FastApiResilience.FastApiUnavailableException.class)
+                .verify();
+        verify(exchange, never()).exchange(any());
+    }
+
+    @Test
+    @DisplayName("스트리밍 응답은 body 가 끝날 때까지 bulkhead 자리를 잡고 있다.")
+    void streamingBody_HoldsBulkheadUntilComplete() {
+        // given (bulkhead 자리 1개)
+        FastApiResilienceFilter filter = new FastApiResilienceFilter(resilience);
+        ClientRequest streamRequest = ClientRequest.create(HttpMethod.POST, URI.create("http://ai/generate/stream")).build();
+        Sinks.Many<DataBuffer> body = Sinks.many().unicast().onBackpressureBuffer();
+        given(exchange.exchange(any())).willReturn(Mono.just(ClientResponse.create(HttpStatus.OK).body(body.asFlux()).build()));
+
+        // when: 첫 스트림이 흐르는 중
+        ClientResponse response = filter.filter(streamRequest, exchange).block();
+        List<String> received = new ArrayList<>();
+        response.bodyToFlux(String.class).subscribe(received::add);
+
+        // then: 두 번째 호출은 자리가 없어 거절되고, 첫 스트림이 끝나면 다시 통과
+        StepVerifier.create(filter.filter(streamRequest, exchange))
+                .expectError(FastApiResilience.FastApiUnavailableException.class)
+                .verify();
+        body.tryEmitNext(DefaultDataBufferFactory.sharedInstance.wrap("token".getBytes(StandardCharsets.UTF_8)));
+        body.tryEmitComplete();
+        assertThat(received).containsExactly("token");
+        StepVerifier.create(filter.filter(streamRequest, exchange))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertThat(resilience.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+}
@@ -0,0 +1,79 @@
+package com.demo.mohazo.common.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+
+@ExtendWith(MockitoExtension.class)
+class FastApiResilienceInterceptorTest {
+
+    private static final byte[] BODY = new byte[0];
+
+    @Mock
+    private HttpRequest request;
+
+    @Mock
+    private ClientHttpRequestExecution execution;
+
+    @Mock
+    private ClientHttpResponse response;
+
+    // window 4, 최소 4회, 실패율 50%, bulkhead 자리 1개
+    private final FastApiResilience resilience = new FastApiResilience(
+            new SimpleMeterRegistry(), 4, 4, 0.5, 30000, 1, 45000, 1, 100);
+
+    private final FastApiResilienceInterceptor interceptor = new FastApiResilienceInterceptor(resilience);
+
+    @Test
+    @DisplayName("취소(interrupt)로 끊긴 호출은 실패로 세지 않고 bulkhead 자리를 돌려준다.")
+    void cancelledCalls_NotCountedAsFailures() throws Exception {
+        // given
+        given(request.getURI()).willReturn(URI.create("http://ai/generate"));
+        given(execution.execute(any(), any())).willThrow(new InterruptedIOException("cancelled"));
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> interceptor.intercept(request, BODY, execution))
+                    .isInstanceOf(InterruptedIOException.class);
+        }
+
+        // then: 열리지 않았고, 자리 1개짜리 bulkhead 로도 다음 호출이 통과함
+        assertThat(resilience.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        willReturn(response).given(execution).execute(any(), any());
+        given(response.getStatusCode()).willReturn(HttpStatus.OK);
+        assertThat(interceptor.intercept(request, BODY, execution)).isSameAs(response);
+    }
+
+    @Test
+    @DisplayName("연결 오류는 실패로 세어서 circuit 을 연다.")
+    void ioErrors_OpenCircuit() throws Exception {
+        // given
+        given(request.getURI()).willReturn(URI.create("http://ai/generate"));
+        given(execution.execute(any(), any())).willThrow(new IOException("connection refused"));
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> interceptor.intercept(request, BODY, execution)).isInstanceOf(IOException.class);
+        }
+
+        // then
+        assertThat(resilience.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
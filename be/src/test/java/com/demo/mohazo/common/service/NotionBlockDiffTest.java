@@ -0,0 +1,109 @@
+package com.demo.mohazo.common.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotionBlockDiffTest {
+
+    private final NotionMarkdownConverter converter = new NotionMarkdownConverter();
+
+    @Test
+    @DisplayName("내용이 같으면 아무 작업도 만들지 않는다.")
+    void plan_Unchanged() {
+        // given
+        List<Map<String, Object>> blocks = blocks("# 제목\n- a\n- b");
+
+        // when
+        NotionBlockDiff.Plan plan = NotionBlockDiff.plan(existing(blocks), blocks);
+
+        // then
+        assertThat(plan.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("같은 type 의 block 내용만 바뀌면 해당 block 만 update 한다.")
+    void plan_EditedLine() {
+        // given
+        List<NotionBlockDiff.ExistingBlock> existing = existing(blocks("# 제목\n- a\n- b\n- c"));
+
+        // when
+        NotionBlockDiff.Plan plan = NotionBlockDiff.plan(existing, blocks("# 제목\n- a\n- **b**\n- c"));
+
+        // then
+        assertThat(plan.updates()).extracting(NotionBlockDiff.Update::blockId).containsExactly("b2");
+        assertThat(plan.deletes()).isEmpty();
+        assertThat(plan.inserts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("중간에 추가된 줄은 바로 앞 block 뒤에 삽입한다.")
+    void plan_InsertedLine() {
+        // given
+        List<NotionBlockDiff.ExistingBlock> existing = existing(blocks("# 제목\n- a\n- c"));
+
+        // when
+        NotionBlockDiff.Plan plan = NotionBlockDiff.plan(existing, blocks("# 제목\n- a\n> 인용\n- c"));
+
+        // then
+        assertThat(plan.updates()).isEmpty();
+        assertThat(plan.deletes()).isEmpty();
+        assertThat(plan.inserts()).hasSize(1);
+        assertThat(plan.inserts().get(0).afterBlockId()).isEqualTo("b1");
+        assertThat(plan.inserts().get(0).blocks()).extracting(b -> b.get("type")).containsExactly("quote");
+    }
+
+    @Test
+    @DisplayName("사라진 줄은 delete 한다.")
+    void plan_DeletedLine() {
+        // given
+        List<NotionBlockDiff.ExistingBlock> existing = existing(blocks("# 제목\n- a\n- b\n- c"));
+
+        // when
+        NotionBlockDiff.Plan plan = NotionBlockDiff.plan(existing, blocks("# 제목\n- a\n- c"));
+
+        // then
+        assertThat(plan.updates()).isEmpty();
+        assertThat(plan.deletes()).containsExactly("b2");
+        assertThat(plan.inserts()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("맨 앞에 삽입해야 하면 전체를 다시 쓴다.")
+    void plan_InsertAtTop_Rewrites() {
+        // given
+        List<NotionBlockDiff.ExistingBlock> existing = existing(blocks("- a\n- b"));
+        List<Map<String, Object>> desired = blocks("# 새 제목\n- a\n- b");
+
+        // when
+        NotionBlockDiff.Plan plan = NotionBlockDiff.plan(existing, desired);
+
+        // then
+        assertThat(plan.deletes()).containsExactly("b0", "b1");
+        assertThat(plan.inserts()).hasSize(1);
+        assertThat(plan.inserts().get(0).afterBlockId()).isNull();
+        assertThat(plan.inserts().get(0).blocks()).hasSize(3);
+    }
+
+    private List<Map<String, Object>> blocks(String markdown) {
+        List<Map<String, Object>> blocks = new ArrayList<>();
+        converter.blocks(markdown).forEachRemaining(blocks::add);
+        return blocks;
+    }
+
+    // 페이지에 이미 써 있는 block 흉내 (id 는 b0, b1, ...)
+    private List<NotionBlockDiff.ExistingBlock> existing(List<Map<String, Object>> blocks) {
+        List<NotionBlockDiff.ExistingBlock> existing = new ArrayList<>();
+        for (int i = 0; i < blocks.size(); i++) {
+            Map<String, Object> block = blocks.get(i);
+            existing.add(new NotionBlockDiff.ExistingBlock(
+                    "b" + i, (String) block.get("type"), NotionBlockDiff.signature(block)));
+        }
+        return existing;
+    }
+}
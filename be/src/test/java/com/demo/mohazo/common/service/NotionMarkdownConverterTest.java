@@ -0,0 +1,161 @@
+package com.demo.mohazo.common.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotionMarkdownConverterTest {
+
+    private final NotionMarkdownConverter converter = new NotionMarkdownConverter();
+
+    @Test
+    @DisplayName("제목, 구분선, 목록, 인용, 코드 블록을 각각의 Notion block 으로 변환한다.")
+    void convert_BlockTypes() {
+        // given (\n 문자열과 실제 줄바꿈이 섞인 AI 스크립트)
+        String markdown = "# 제목\\n## 부제목\n#### 작은 제목\n---\n- 항목\n2. 번호\n> 인용\n```js\nlet a = 1;\nlet b = 2;\n```\n\n본문";
+
+        // when
+        List<Map<String, Object>> blocks = collect(markdown);
+
+        // then
+        assertThat(blocks).extracting(b -> b.get("type")).containsExactly(
+                "heading_1", "heading_2", "heading_3", "divider", "bulleted_list_item",
+                "numbered_list_item", "quote", "code", "paragraph", "paragraph");
+
+        Map<String, Object> code = body(blocks.get(7), "code");
+        assertThat(code.get("language")).isEqualTo("javascript");
+        assertThat(contents(code)).containsExactly("let a = 1;\nlet b = 2;");
+
+        assertThat(contents(body(blocks.get(8), "paragraph"))).isEmpty();
+        assertThat(contents(body(blocks.get(9), "paragraph"))).containsExactly("본문");
+    }
+
+    @Test
+    @DisplayName("굵게, 기울임, 인라인 코드, 링크를 rich_text annotation 으로 나눈다.")
+    void richText_InlineFormatting() {
+        // when
+        List<Map<String, Object>> richText = converter.richText("a **b** *c* `d*e` [f](https://g.com) 2 * 3");
+
+        // then
+        assertThat(richText).extracting(this::content)
+                .containsExactly("a ", "b", " ", "c", " ", "d*e", " ", "f", " 2 * 3");
+        assertThat(annotations(richText.get(1))).containsEntry("bold", true);
+        assertThat(annotations(richText.get(3))).containsEntry("italic", true);
+        assertThat(annotations(richText.get(5))).containsEntry("code", true);
+        assertThat(text(richText.get(7))).containsEntry("link", Map.of("url", "https://g.com"));
+        assertThat(richText.get(8)).doesNotContainKey("annotations");
+    }
+
+    @Test
+    @DisplayName("2000자를 넘는 텍스트는 2000자 단위 rich_text 로 나눈다.")
+    void richText_SplitsAtSegmentLimit() {
+        // given
+        String longText = "x".repeat(NotionMarkdownConverter.MAX_TEXT_LENGTH * 2 + 10);
+
+        // when
+        List<Map<String, Object>> richText = converter.richText(longText);
+
+        // then
+        assertThat(richText).extracting(s -> content(s).length())
+                .containsExactly(2000, 2000, 10);
+    }
+
+    @Test
+    @DisplayName("rich_text 가 100 조각을 넘는 코드 블록은 여러 코드 블록으로 나눈다.")
+    void convert_SplitsOversizedCodeBlock() {
+        // given (250 조각 + 10자)
+        String code = "x".repeat(NotionMarkdownConverter.MAX_TEXT_LENGTH * 250 + 10);
+
+        // when
+        List<Map<String, Object>> blocks = collect("```java\n" + code + "\n```\n끝");
+
+        // then
+        assertThat(blocks).extracting(b -> b.get("type")).containsExactly("code", "code", "code", "paragraph");
+        assertThat(blocks.subList(0, 3)).extracting(b -> contents(body(b, "code")).size())
+                .containsExactly(100, 100, 51);
+        assertThat(blocks.subList(0, 3)).allMatch(b -> "java".equals(body(b, "code").get("language")));
+        assertThat(blocks.subList(0, 3).stream().flatMap(b -> contents(body(b, "code")).stream()).mapToInt(String::length).sum())
+                .isEqualTo(code.length());
+    }
+
+    @Test
+    @DisplayName("http 가 아닌 링크 뒤의 [ 는 같은 ]( 를 다시 찾지 않고, 뒤에 오는 링크는 그대로 변환한다.")
+    void richText_NonHttpLinkSkipped() {
+        // when
+        List<Map<String, Object>> richText = converter.richText("[a [b](c) [d](https://e.com)");
+        // [ 가 많고 http 가 아닌 ]( 가 하나뿐인 줄도 선형 시간에 끝남
+        String brackets = "[".repeat(200_000) + "](x)";
+        List<Map<String, Object>> pathological = converter.richText(brackets);
+
+        // then
+        assertThat(richText).extracting(this::content).containsExactly("[a [b](c) ", "d");
+        assertThat(text(richText.get(1))).containsEntry("link", Map.of("url", "https://e.com"));
+        assertThat(pathological.stream().mapToInt(s -> content(s).length()).sum()).isEqualTo(brackets.length());
+    }
+
+    @Test
+    @DisplayName("rich_text 가 100 조각을 넘는 문단 / 제목은 같은 type 의 block 여러 개로 나눈다.")
+    void convert_SplitsOversizedTextBlocks() {
+        // given (굵게 120번 = 240 조각인 문단, 2000자 150 조각인 제목)
+        String formatted = "**a** b".repeat(120);
+        String longHeading = "# " + "x".repeat(NotionMarkdownConverter.MAX_TEXT_LENGTH * 150);
+
+        // when
+        List<Map<String, Object>> blocks = collect(formatted + "\n" + longHeading);
+
+        // then
+        assertThat(blocks).extracting(b -> b.get("type"))
+                .containsExactly("paragraph", "paragraph", "paragraph", "heading_1", "heading_1");
+        assertThat(blocks.subList(0, 3)).extracting(b -> contents(body(b, "paragraph")).size())
+                .containsExactly(100, 100, 40);
+        assertThat(blocks.subList(3, 5)).extracting(b -> contents(body(b, "heading_1")).size())
+                .containsExactly(100, 50);
+    }
+
+    @Test
+    @DisplayName("링크가 아닌 [ 뒤에 링크가 오면 ]( 바로 앞의 [ 부터 링크로 변환한다.")
+    void richText_LinkStartsAtMatchingBracket() {
+        // when
+        List<Map<String, Object>> richText = converter.richText("[x] 참고 [y](http://a.com) 끝");
+
+        // then
+        assertThat(richText).extracting(this::content).containsExactly("[x] 참고 ", "y", " 끝");
+        assertThat(text(richText.get(0))).doesNotContainKey("link");
+        assertThat(text(richText.get(1))).containsEntry("link", Map.of("url", "http://a.com"));
+    }
+
+    private List<Map<String, Object>> collect(String markdown) {
+        List<Map<String, Object>> blocks = new ArrayList<>();
+        converter.blocks(markdown).forEachRemaining(blocks::add);
+        return blocks;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> body(Map<String, Object> block, String type) {
+        return (Map<String, Object>) block.get(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> contents(Map<String, Object> body) {
+        return ((List<Map<String, Object>>) body.get("rich_text")).stream().map(this::content).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> text(Map<String, Object> segment) {
+        return (Map<String, Object>) segment.get("text");
+    }
+
+    private String content(Map<String, Object> segment) {
+        return (String) text(segment).get("content");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> annotations(Map<String, Object> segment) {
+        return (Map<String, Object>) segment.get("annotations");
+    }
+}
@@ -0,0 +1,70 @@
+package com.demo.mohazo.common.service;
+
+import com.demo.mohazo.common.client.NotionClient;
+import com.demo.mohazo.common.entity.NotionAppendCheckpoint;
+import com.demo.mohazo.common.entity.Team;
+import com.demo.mohazo.common.repository.NotionAppendCheckpointRepository;
+import com.demo.mohazo.common.util.HashUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.node.JsonNodeFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotionServiceTest {
+
+    @Mock
+    private NotionClient notionClient;
+
+    @Mock
+    private TeamContextResolver teamContextResolver;
+
+    @Mock
+    private NotionAppendCheckpointRepository checkpointRepository;
+
+    @Test
+    @DisplayName("같은 내용의 checkpoint 가 있으면 이미 block 이 있는 페이지도 diff 하지 않고 다음 batch 부터 이어서 붙인다.")
+    @SuppressWarnings("unchecked")
+    void sync_ResumesFromCheckpoint_WhenPageHasChildren() {
+        // given (paragraph 250개 = batch 3개, 앞의 2개는 이미 붙임)
+        NotionService notionService = new NotionService(notionClient, teamContextResolver,
+                new NotionMarkdownConverter(), checkpointRepository);
+        Team team = new Team();
+        String markdown = String.join("\n", Collections.nCopies(250, "문단"));
+        NotionAppendCheckpoint checkpoint = NotionAppendCheckpoint.builder()
+                .id(7L).pageId("page").contentHash(HashUtils.sha256Hex(markdown)).ackedBatches(2).build();
+        given(checkpointRepository.findByPageIdAndContentHash("page", HashUtils.sha256Hex(markdown)))
+                .willReturn(Optional.of(checkpoint));
+        given(checkpointRepository.save(checkpoint)).willReturn(checkpoint);
+        given(notionClient.patch(eq(team), eq("/blocks/{id}/children"), any(), eq("page")))
+                .willReturn(Mono.just(JsonNodeFactory.instance.objectNode()));
+
+        // when
+        notionService.syncMarkdownContentToPageAsync("page", markdown, team).block();
+
+        // then
+        ArgumentCaptor<Object> body = ArgumentCaptor.forClass(Object.class);
+        verify(notionClient).patch(eq(team), eq("/blocks/{id}/children"), body.capture(), eq("page"));
+        assertThat((List<Object>) ((Map<String, Object>) body.getValue()).get("children")).hasSize(50);
+        verify(notionClient, never()).get(any(), anyString(), anyMap(), any());
+        verify(checkpointRepository).deleteById(7L);
+    }
+}
@@ -0,0 +1,77 @@
+package com.demo.mohazo.common.service;
+
+import com.demo.mohazo.common.domain.Field;
+import com.demo.mohazo.user.entity.User;
+import com.demo.mohazo.works.entity.Works;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SkillMatcherTest {
+
+    private static final SkillMatcher.Weights WEIGHTS = new SkillMatcher.Weights(3, 2, 1);
+
+    @Test
+    @DisplayName("같은 Field 에서 기술 스택이 더 많이 겹치는 유저에게 할당한다.")
+    void assign_PrefersStackOverlap() {
+        // given
+        User spring = User.builder().id(1L).level(2).field(Field.BE).build();
+        User node = User.builder().id(2L).level(2).field(Field.BE).build();
+        User react = User.builder().id(3L).level(2).field(Field.FE).build();
+        List<Object[]> userStacks = new ArrayList<>();
+        userStacks.add(new Object[] { 1L, 10L }); // Spring
+        userStacks.add(new Object[] { 1L, 11L }); // MySQL
+        userStacks.add(new Object[] { 2L, 12L }); // Node
+        userStacks.add(new Object[] { 3L, 10L });
+
+        SkillMatcher matcher = new SkillMatcher(List.of(node, spring, react), userStacks, List.of(), WEIGHTS);
+        Works work = Works.builder().id(100L).field(Field.BE).level(2).build();
+
+        // when & then
+        assertThat(matcher.assign(work, matcher.bitsOf(List.of(10L, 11L, 99L)))).isSameAs(spring);
+        // Field 가 다른 유저는 스택이 겹쳐도 후보가 아님
+        assertThat(matcher.assign(Works.builder().field(Field.AI).level(1).build(), matcher.bitsOf(List.of(10L))))
+                .isNull();
+    }
+
+    @Test
+    @DisplayName("스택 점수가 같으면 level 이 가깝고 작업이 적은 유저를 고른다.")
+    void assign_UsesLevelAndLoad() {
+        // given
+        User junior = User.builder().id(1L).level(1).field(Field.BE).build();
+        User senior = User.builder().id(2L).level(3).field(Field.BE).build();
+        List<Object[]> counts = new ArrayList<>();
+        counts.add(new Object[] { 2L, 1L }); // senior 는 이미 1개
+
+        SkillMatcher matcher = new SkillMatcher(List.of(junior, senior), List.of(), counts, WEIGHTS);
+        long[] noStacks = matcher.bitsOf(List.of());
+
+        // when & then
+        // level 3 작업: senior = -1, junior = -4
+        assertThat(matcher.assign(Works.builder().field(Field.BE).level(3).build(), noStacks)).isSameAs(senior);
+        // level 2 작업: senior = -2 - 2, junior = -2
+        assertThat(matcher.assign(Works.builder().field(Field.BE).level(2).build(), noStacks)).isSameAs(junior);
+    }
+
+    @Test
+    @DisplayName("64개가 넘는 스택도 bitset word 를 나눠서 센다.")
+    void assign_SpansMultipleWords() {
+        // given
+        User a = User.builder().id(1L).level(1).field(Field.CL).build();
+        User b = User.builder().id(2L).level(1).field(Field.CL).build();
+        List<Object[]> userStacks = new ArrayList<>();
+        for (long stack = 1; stack <= 130; stack++) {
+            userStacks.add(new Object[] { stack <= 64 ? 1L : 2L, stack });
+        }
+
+        SkillMatcher matcher = new SkillMatcher(List.of(a, b), userStacks, List.of(), WEIGHTS);
+
+        // when & then
+        assertThat(matcher.assign(Works.builder().field(Field.CL).level(1).build(),
+                matcher.bitsOf(List.of(100L, 129L, 3L)))).isSameAs(b);
+    }
+}
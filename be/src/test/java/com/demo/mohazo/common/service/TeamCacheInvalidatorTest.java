@@ -0,0 +1,43 @@
+package com.demo.mohazo.common.service;
+
+import com.demo.mohazo.common.entity.Team;
+import com.demo.mohazo.common.repository.TeamRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TeamCacheInvalidatorTest {
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TeamContextResolver teamContextResolver;
+
+    @AfterEach
+    void tearDown() {
+        teamRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Team 의 notionKey 를 수정하면 TTL 전이라도 다음 조회부터 새 값을 사용한다.")
+    void updateTeam_InvalidatesCache() {
+        // given
+        Team team = teamRepository.save(Team.builder().notionKey("old-key").notionPageUrlBase("page").build());
+        assertThat(teamContextResolver.resolve(team.getId()).getNotionKey()).isEqualTo("old-key");
+
+        // when
+        team.setNotionKey("new-key");
+        teamRepository.save(team);
+
+        // then
+        assertThat(teamContextResolver.resolve(team.getId()).getNotionKey()).isEqualTo("new-key");
+    }
+}
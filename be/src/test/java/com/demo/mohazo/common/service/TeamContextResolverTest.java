@@ -0,0 +1,108 @@
+package com.demo.mohazo.common.service;
+
+import com.demo.mohazo.common.entity.Team;
+import com.demo.mohazo.common.repository.TeamRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TeamContextResolverTest {
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    private final AtomicLong now = new AtomicLong();
+    private TeamContextResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new TeamContextResolver(teamRepository, 1L, 2, Duration.ofSeconds(10), now::get);
+    }
+
+    @Test
+    @DisplayName("teamid 가 없으면 기본 팀을, 두 번째 조회부터는 캐시를 사용한다.")
+    void resolve_DefaultTeam_Cached() {
+        // given
+        given(teamRepository.findById(1L)).willReturn(Optional.of(team(1L)));
+
+        // when
+        Team first = resolver.resolve(null);
+        Team second = resolver.resolve(1L);
+
+        // then
+        assertThat(second).isSameAs(first);
+        verify(teamRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("TTL 이 지나거나 invalidate 하면 DB 에서 다시 읽는다.")
+    void resolve_ReloadAfterTtlAndInvalidate() {
+        // given
+        given(teamRepository.findById(2L)).willReturn(Optional.of(team(2L)));
+        resolver.resolve(2L);
+
+        // when
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        resolver.resolve(2L);
+        resolver.invalidate(2L);
+        resolver.resolve(2L);
+
+        // then
+        verify(teamRepository, times(3)).findById(2L);
+    }
+
+    @Test
+    @DisplayName("최대 개수를 넘으면 가장 오래 안 쓴 팀부터 밀려난다.")
+    void resolve_EvictsLeastRecentlyUsed() {
+        // given
+        given(teamRepository.findById(1L)).willReturn(Optional.of(team(1L)));
+        given(teamRepository.findById(2L)).willReturn(Optional.of(team(2L)));
+        given(teamRepository.findById(3L)).willReturn(Optional.of(team(3L)));
+
+        // when
+        resolver.resolve(1L);
+        resolver.resolve(2L);
+        resolver.resolve(1L); // 1번을 최근에 사용
+        resolver.resolve(3L); // 2번이 밀려남
+        resolver.resolve(1L);
+        resolver.resolve(2L);
+
+        // then
+        verify(teamRepository, times(1)).findById(1L);
+        verify(teamRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    @DisplayName("조회하는 사이에 invalidate 되면 읽은 값을 캐시에 넣지 않는다.")
+    void resolve_InvalidatedDuringLoad_NotCached() {
+        // given (DB 조회 중에 Team 이 수정되어 invalidate 됨)
+        given(teamRepository.findById(2L)).willAnswer(invocation -> {
+            resolver.invalidate(2L);
+            return Optional.of(team(2L));
+        });
+
+        // when
+        resolver.resolve(2L);
+        resolver.resolve(2L);
+
+        // then
+        verify(teamRepository, times(2)).findById(2L);
+    }
+
+    private Team team(Long id) {
+        return Team.builder().id(id).notionKey("secret-" + id).notionPageUrlBase("page-" + id).build();
+    }
+}
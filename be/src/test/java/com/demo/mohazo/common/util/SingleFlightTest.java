@@ -0,0 +1,109 @@
+package com.demo.mohazo.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    @DisplayName("실행 중인 key 로 구독하면 새로 실행하지 않고 같은 결과를 받는다.")
+    void executeAsync_SharesInFlightExecution() {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        Sinks.One<String> result = Sinks.one();
+
+        Mono<String> first = singleFlight.executeAsync(1L, () -> {
+            executions.incrementAndGet();
+            return result.asMono();
+        });
+        Mono<String> second = singleFlight.executeAsync(1L, () -> {
+            executions.incrementAndGet();
+            return Mono.just("other");
+        });
+
+        // when
+        String[] values = new String[2];
+        first.subscribe(v -> values[0] = v);
+        second.subscribe(v -> values[1] = v);
+        result.tryEmitValue("script");
+
+        // then
+        assertThat(values).containsExactly("script", "script");
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("실패한 실행은 기다리던 호출에도 같은 예외를 주고, 끝난 뒤 호출은 다시 실행한다.")
+    void executeAsync_SharesFailureAndDoesNotCacheIt() {
+        // given
+        Sinks.One<String> result = Sinks.one();
+        Mono<String> first = singleFlight.executeAsync(1L, result::asMono);
+        Mono<String> second = singleFlight.executeAsync(1L, () -> Mono.just("other"));
+
+        Throwable[] errors = new Throwable[2];
+        first.subscribe(v -> {}, e -> errors[0] = e);
+        second.subscribe(v -> {}, e -> errors[1] = e);
+
+        // when
+        result.tryEmitError(new IllegalStateException("notion down"));
+
+        // then
+        assertThat(errors[0]).isInstanceOf(IllegalStateException.class).hasMessage("notion down");
+        assertThat(errors[1]).isSameAs(errors[0]);
+        assertThat(singleFlight.executeAsync(1L, () -> Mono.just("retry")).block()).isEqualTo("retry");
+    }
+
+    @Test
+    @DisplayName("blocking 실행의 예외는 그대로 던진다.")
+    void execute_RethrowsFailure() {
+        assertThatThrownBy(() -> singleFlight.execute(1L, () -> {
+            throw new IllegalArgumentException("invalid meeting id");
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(singleFlight.execute(1L, () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("Error 로 끝나도 기다리던 호출에 전달하고 key 를 비운다.")
+    void execute_ErrorCompletesWaiters() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            throw new OutOfMemoryError("boom");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> singleFlight.execute(1L, () -> "second"));
+        Thread.sleep(100);
+        release.countDown();
+
+        // then
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
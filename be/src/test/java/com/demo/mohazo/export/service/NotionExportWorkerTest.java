@@ -0,0 +1,131 @@
+package com.demo.mohazo.export.service;
+
+import com.demo.mohazo.common.domain.JobStatus;
+import com.demo.mohazo.common.domain.NotionExportType;
+import com.demo.mohazo.common.service.NotionDescService;
+import com.demo.mohazo.export.entity.NotionExportJob;
+import com.demo.mohazo.export.repository.NotionExportJobRepository;
+import com.demo.mohazo.tasklist.dto.TaskSyncResponseDto;
+import com.demo.mohazo.tasklist.service.TaskListNotionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class NotionExportWorkerTest {
+
+    @Mock
+    private NotionExportJobRepository jobRepository;
+
+    @Mock
+    private NotionDescService notionDescService;
+
+    @Mock
+    private TaskListNotionService taskListNotionService;
+
+    @Mock
+    private ThreadPoolTaskExecutor executor;
+
+    private NotionExportWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new NotionExportWorker(jobRepository, notionDescService, taskListNotionService, executor, 5, 2000, 600000);
+    }
+
+    @Test
+    @DisplayName("TASK_BOARD 가 한 번 실패하면, 재시도는 새 DB 를 만들지 않고 sync 로 이어서 반영한다.")
+    void taskBoard_RetryAfterFailure_UsesSync() {
+        // given
+        LocalDateTime firstClaim = LocalDateTime.now();
+        LocalDateTime secondClaim = firstClaim.plusSeconds(3);
+        NotionExportJob job = NotionExportJob.builder().id(1L).type(NotionExportType.TASK_BOARD)
+                .meetingId(10L).teamId(20L).status(JobStatus.RUNNING).attempts(1)
+                .nextAttemptAt(firstClaim).lockedAt(firstClaim).build();
+        given(jobRepository.findById(1L)).willReturn(Optional.of(job));
+        // DB 는 만들었지만 task insert 중 실패
+        given(taskListNotionService.exportTaskBoardAsync(10L, 20L))
+                .willReturn(Mono.error(new IllegalStateException("Notion task insert 실패: 1/3건")));
+        given(taskListNotionService.syncTaskBoardAsync(10L, 20L))
+                .willReturn(Mono.just(new TaskSyncResponseDto(1, 0, 0, 2)));
+
+        // when: 첫 시도 실패 -> backoff 후 다시 claim (attempts + 1) -> 재시도
+        worker.run(1L);
+        JobStatus afterFailure = job.getStatus();
+        job.setStatus(JobStatus.RUNNING);
+        job.setAttempts(2);
+        job.setLockedAt(secondClaim);
+        worker.run(1L);
+
+        // then
+        assertThat(afterFailure).isEqualTo(JobStatus.PENDING);
+        assertThat(job.getStatus()).isEqualTo(JobStatus.DONE);
+        assertThat(job.getLastError()).isNull();
+        verify(taskListNotionService, times(1)).exportTaskBoardAsync(10L, 20L);
+        verify(taskListNotionService, times(1)).syncTaskBoardAsync(10L, 20L);
+        // 결과는 각 시도가 claim 한 lockedAt / attempts 를 조건으로 기록
+        verify(jobRepository).finish(eq(1L), eq(JobStatus.RUNNING), eq(firstClaim), eq(1),
+                eq(JobStatus.PENDING), eq("Notion task insert 실패: 1/3건"), any(), any());
+        verify(jobRepository).finish(eq(1L), eq(JobStatus.RUNNING), eq(secondClaim), eq(2),
+                eq(JobStatus.DONE), isNull(), any(), any());
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("lease 가 만료되어 다른 worker 가 다시 가져간 job 의 상태는 덮어쓰지 않는다.")
+    void run_LeaseLost_DoesNotSaveEntity() {
+        // given
+        LocalDateTime claimedAt = LocalDateTime.now();
+        NotionExportJob job = NotionExportJob.builder().id(2L).type(NotionExportType.TASK_SYNC)
+                .meetingId(10L).teamId(20L).status(JobStatus.RUNNING).attempts(1)
+                .nextAttemptAt(claimedAt).lockedAt(claimedAt).build();
+        given(jobRepository.findById(2L)).willReturn(Optional.of(job));
+        given(taskListNotionService.syncTaskBoardAsync(10L, 20L))
+                .willReturn(Mono.just(new TaskSyncResponseDto(0, 0, 0, 3)));
+        // 다른 worker 가 claim 해서 lockedAt / attempts 가 바뀐 상태
+        given(jobRepository.finish(eq(2L), eq(JobStatus.RUNNING), eq(claimedAt), eq(1),
+                eq(JobStatus.DONE), isNull(), any(), any())).willReturn(0);
+
+        // when
+        worker.run(2L);
+
+        // then
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Error 로 끝나면 재시도하지 않고 FAILED 로 기록한 뒤 Error 를 다시 던진다.")
+    void run_Error_MarksFailed() {
+        // given
+        LocalDateTime claimedAt = LocalDateTime.now();
+        NotionExportJob job = NotionExportJob.builder().id(3L).type(NotionExportType.DESCRIPTION)
+                .meetingId(10L).teamId(20L).status(JobStatus.RUNNING).attempts(1)
+                .nextAttemptAt(claimedAt).lockedAt(claimedAt).build();
+        given(jobRepository.findById(3L)).willReturn(Optional.of(job));
+        willThrow(new StackOverflowError()).given(notionDescService).exportDescToNotion(10L, 20L);
+
+        // when & then
+        assertThatThrownBy(() -> worker.run(3L)).isInstanceOf(StackOverflowError.class);
+        verify(jobRepository).finish(eq(3L), eq(JobStatus.RUNNING), eq(claimedAt), eq(1),
+                eq(JobStatus.FAILED), eq(StackOverflowError.class.getName()), any(), any());
+    }
+}
@@ -0,0 +1,74 @@
+package com.demo.mohazo.meeting.repository;
+
+import com.demo.mohazo.meeting.dto.meetingScriptResponseDTO;
+import com.demo.mohazo.meeting.entity.Meeting;
+import com.demo.mohazo.meeting.entity.MeetingContent;
+import com.demo.mohazo.meeting.service.MeetingService;
+import com.demo.mohazo.support.SqlStatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MeetingContentQueryTest {
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private MeetingContentRepository meetingContentRepository;
+
+    @Autowired
+    private MeetingService meetingService;
+
+    private Long meetingId;
+
+    @BeforeEach
+    void setUp() {
+        Meeting meeting = meetingRepository.save(Meeting.builder()
+                .title("주간 회의")
+                .notionPageUrlDesc("notion-page-id")
+                .build());
+        meetingContentRepository.save(MeetingContent.builder()
+                .meeting(meeting)
+                .record("회의록 원본")
+                .script("AI 요약")
+                .build());
+        meetingId = meeting.getId();
+        SqlStatementRecorder.reset();
+    }
+
+    @Test
+    @DisplayName("Meeting 메타 조회는 meeting 테이블만 한 번 읽고 본문 컬럼은 읽지 않는다.")
+    void findById_ReadsMetadataOnly() {
+        // when
+        Meeting meeting = meetingRepository.findById(meetingId).orElseThrow();
+
+        // then
+        assertThat(meeting.getNotionPageUrlDesc()).isEqualTo("notion-page-id");
+        List<String> sql = SqlStatementRecorder.onCurrentThread();
+        assertThat(sql).hasSize(1);
+        assertThat(sql.get(0)).doesNotContain("meeting_content", "record", "script");
+    }
+
+    @Test
+    @DisplayName("회의록 요약 조회는 meeting_content 의 script 컬럼만 한 번 읽는다.")
+    void getMeetingScript_ReadsScriptColumnOnly() {
+        // when
+        meetingScriptResponseDTO response = meetingService.getMeetingScript(meetingId);
+
+        // then
+        assertThat(response.getScript()).isEqualTo("AI 요약");
+        List<String> sql = SqlStatementRecorder.onCurrentThread();
+        assertThat(sql).hasSize(1);
+        assertThat(sql.get(0)).contains("meeting_content").doesNotContain("record");
+    }
+}
@@ -0,0 +1,74 @@
+package com.demo.mohazo.meeting.repository;
+
+import com.demo.mohazo.common.domain.JobStatus;
+import com.demo.mohazo.meeting.entity.MeetingUploadJob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MeetingUploadJobClaimTest {
+
+    @Autowired
+    private MeetingUploadJobRepository jobRepository;
+
+    private Long jobId;
+
+    @BeforeEach
+    void setUp() {
+        jobId = jobRepository.save(MeetingUploadJob.builder().title("주간 회의").record("회의록 원본").build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("같은 job 은 한 인스턴스만 claim 하고, 결과는 claim 한 인스턴스만 기록한다.")
+    void claim_OnlyOneOwner() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+
+        // when
+        int first = jobRepository.claim(jobId, JobStatus.PENDING, JobStatus.RUNNING, "node-a", now);
+        int second = jobRepository.claim(jobId, JobStatus.PENDING, JobStatus.RUNNING, "node-b", now);
+        MeetingUploadJob claimed = jobRepository.findById(jobId).orElseThrow();
+        int otherFinish = jobRepository.finish(jobId, JobStatus.RUNNING, "node-b", claimed.getLockedAt(),
+                JobStatus.FAILED, null, "lost", now);
+        int ownerFinish = jobRepository.finish(jobId, JobStatus.RUNNING, "node-a", claimed.getLockedAt(),
+                JobStatus.DONE, 10L, null, now);
+
+        // then
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+        assertThat(claimed.getLockedBy()).isEqualTo("node-a");
+        assertThat(otherFinish).isZero();
+        assertThat(ownerFinish).isEqualTo(1);
+        MeetingUploadJob done = jobRepository.findById(jobId).orElseThrow();
+        assertThat(done.getStatus()).isEqualTo(JobStatus.DONE);
+        assertThat(done.getMeetingId()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("lease 가 지난 RUNNING job 만 만료 대상으로 조회한다.")
+    void findExpired_OnlyStaleLeases() {
+        // given
+        LocalDateTime claimedAt = LocalDateTime.now().minusMinutes(30);
+        jobRepository.claim(jobId, JobStatus.PENDING, JobStatus.RUNNING, "node-a", claimedAt);
+
+        // when / then
+        assertThat(jobRepository.findExpired(JobStatus.RUNNING, claimedAt.minusMinutes(1))).isEmpty();
+        assertThat(jobRepository.findExpired(JobStatus.RUNNING, claimedAt.plusMinutes(10)))
+                .extracting(MeetingUploadJob::getId).containsExactly(jobId);
+    }
+}
@@ -0,0 +1,90 @@
+package com.demo.mohazo.meeting.service;
+
+import com.demo.mohazo.meeting.repository.MeetingRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+class MeetingResultCacheTest {
+
+    @Mock
+    private MeetingRepository meetingRepository;
+
+    @Test
+    @DisplayName("공백, 줄바꿈 차이만 있는 회의록은 같은 hash 를 갖는다.")
+    void contentHash_IgnoresWhitespaceDifferences() {
+        String a = MeetingResultCache.contentHash(1L, "주간 회의", "안건 1\n  결정 사항\r\n");
+        String b = MeetingResultCache.contentHash(1L, " 주간  회의 ", "안건 1 결정 사항");
+        String c = MeetingResultCache.contentHash(1L, "주간 회의", "안건 2 결정 사항");
+
+        assertThat(a).isEqualTo(b);
+        assertThat(a).isNotEqualTo(c);
+    }
+
+    @Test
+    @DisplayName("다른 팀이 같은 회의록을 올리면 다른 팀의 meetingid 를 재사용하지 않는다.")
+    void getOrUpload_DoesNotShareAcrossTeams() {
+        // given
+        MeetingResultCache cache = new MeetingResultCache(meetingRepository, 10);
+        String teamA = MeetingResultCache.contentHash(1L, "주간 회의", "안건 1 결정 사항");
+        String teamB = MeetingResultCache.contentHash(2L, "주간 회의", "안건 1 결정 사항");
+        cache.getOrUpload(teamA, () -> 7L);
+
+        // when
+        Long meetingid = cache.getOrUpload(teamB, () -> 8L);
+
+        // then
+        assertThat(teamA).isNotEqualTo(teamB);
+        assertThat(meetingid).isEqualTo(8L);
+        assertThat(cache.getOrUpload(teamA, () -> 9L)).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("같은 hash 로 동시에 들어온 업로드는 한 번만 실행되고, 이후 요청은 캐시를 사용한다.")
+    void getOrUpload_CollapsesConcurrentUploads() throws Exception {
+        // given
+        MeetingResultCache cache = new MeetingResultCache(meetingRepository, 10);
+        AtomicInteger uploads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // when
+        CompletableFuture<Long> first = CompletableFuture.supplyAsync(() -> cache.getOrUpload("hash", () -> {
+            uploads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return 7L;
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Long> second = CompletableFuture.supplyAsync(() -> cache.getOrUpload("hash", () -> {
+            uploads.incrementAndGet();
+            return 8L;
+        }));
+        Thread.sleep(100);
+        release.countDown();
+
+        // then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(7L);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(7L);
+        assertThat(cache.getOrUpload("hash", () -> 9L)).isEqualTo(7L);
+        assertThat(uploads.get()).isEqualTo(1);
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.demo.mohazo.meeting.service;
+
+import com.demo.mohazo.common.service.NotionService;
+import com.demo.mohazo.meeting.dto.meetingUploadRequestDTO;
+import com.demo.mohazo.meeting.repository.MeetingContentRepository;
+import com.demo.mohazo.meeting.repository.MeetingRepository;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestClient;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MeetingServiceTest {
+
+    private HttpServer stub;
+    private ThreadPoolTaskExecutor stageExecutor;
+    private final CountDownLatch generateResponded = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // AI(/generate) 는 Notion 실패 뒤에 응답하도록 지연
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/generate", exchange -> {
+            try {
+                Thread.sleep(300);
+                byte[] body = "{\"message\":\"ok\",\"data\":{\"meetingid\":7}}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+                generateResponded.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        stub.start();
+
+        stageExecutor = new ThreadPoolTaskExecutor();
+        stageExecutor.setCorePoolSize(4);
+        stageExecutor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.stop(0);
+        stageExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Notion 단계가 실패해도 AI 단계는 취소하지 않고, Notion 실패 원인으로 업로드가 실패한다.")
+    void upload_NotionFails_AiStageNotCancelled() throws InterruptedException {
+        // given
+        RestClient fastApiRestClient = RestClient.builder()
+                .baseUrl("http://127.0.0.1:" + stub.getAddress().getPort()).build();
+        NotionService notionService = mock(NotionService.class);
+        when(notionService.createNewPage(any())).thenThrow(new IllegalStateException("notion down"));
+        MeetingRepository meetingRepository = mock(MeetingRepository.class);
+        MeetingResultCache resultCache = new MeetingResultCache(meetingRepository, 10);
+        MeetingService meetingService = new MeetingService(fastApiRestClient, meetingRepository, notionService,
+                stageExecutor, resultCache, mock(MeetingContentRepository.class));
+        meetingService.objectMapper = JsonMapper.builder().build();
+
+        // when & then
+        assertThatThrownBy(() -> meetingService.uploadMeeting(
+                new meetingUploadRequestDTO.beRequest("title", "record", 1L)))
+                .hasMessageContaining("notion down");
+        // interrupt 되지 않은 AI 단계가 응답(= FastAPI 가 저장한 meetingid)을 끝까지 받음
+        assertThat(generateResponded.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
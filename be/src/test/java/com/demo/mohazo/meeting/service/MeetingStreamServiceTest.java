@@ -0,0 +1,70 @@
+package com.demo.mohazo.meeting.service;
+
+import com.demo.mohazo.common.service.NotionService;
+import com.demo.mohazo.meeting.dto.meetingUploadRequestDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MeetingStreamServiceTest {
+
+    @Mock
+    private MeetingService meetingService;
+
+    @Mock
+    private MeetingResultCache meetingResultCache;
+
+    @Mock
+    private NotionService notionService;
+
+    @Test
+    @DisplayName("done 에 meetingid 가 없으면 Notion page 를 만들지 않고 error event 로 끝낸다.")
+    @SuppressWarnings("unchecked")
+    void stream_DoneWithoutMeetingId_EmitsError() {
+        // given (FastAPI 가 token 하나와 meetingid 없는 done 을 보냄)
+        WebClient fastApiWebClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+                        .body("event: token\ndata: {\"text\":\"요약\"}\n\nevent: done\ndata: {}\n\n")
+                        .build()))
+                .build();
+        MeetingStreamService streamService = new MeetingStreamService(fastApiWebClient, meetingService,
+                meetingResultCache, notionService, JsonMapper.builder().build());
+        meetingUploadRequestDTO.beRequest req = new meetingUploadRequestDTO.beRequest();
+        req.setTitle("주간 회의");
+        req.setRecord("회의록 원본");
+        req.setTeamid(1L);
+        given(meetingResultCache.find(anyString())).willReturn(null);
+
+        // when
+        List<ServerSentEvent<Object>> events = streamService.streamMeeting(req).collectList().block();
+
+        // then
+        assertThat(events).extracting(ServerSentEvent::event).containsExactly("token", "error");
+        assertThat(((Map<String, String>) events.get(1).data()).get("detail")).contains("meetingid");
+        verify(notionService, never()).createNewPageAsync(any());
+        verify(meetingService, never()).attachNotionPage(anyLong(), any(), any());
+    }
+}
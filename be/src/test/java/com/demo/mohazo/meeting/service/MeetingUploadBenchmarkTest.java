@@ -0,0 +1,195 @@
+package com.demo.mohazo.meeting.service;
+
+import com.demo.mohazo.common.service.NotionService;
+import com.demo.mohazo.meeting.dto.meetingUploadRequestDTO;
+import com.demo.mohazo.meeting.entity.Meeting;
+import com.demo.mohazo.meeting.repository.MeetingContentRepository;
+import com.demo.mohazo.meeting.repository.MeetingRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 동시 업로드 500건을 platform thread pool(Tomcat 기본 200개)과 virtual thread 로 각각 실행해서 비교한다.
+ * AI(/generate)와 Notion(/pages)은 지연만 흉내 내는 로컬 stub 서버로 대체한다.
+ *
+ * 기본 test 에서는 제외되고 ./gradlew benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+class MeetingUploadBenchmarkTest {
+
+    private static final int UPLOADS = 500;
+    private static final int PLATFORM_THREADS = 200; // server.tomcat.threads.max 기본값
+    private static final long AI_LATENCY_MS = 300;
+    private static final long NOTION_LATENCY_MS = 100;
+
+    private static HttpServer stub;
+    private static ConnectionProvider connectionProvider;
+    private static ThreadPoolTaskExecutor stageExecutor;
+    private static MeetingService meetingService;
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1000);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/generate", exchange ->
+                respond(exchange, AI_LATENCY_MS, "{\"message\":\"ok\",\"data\":{\"meetingid\":1}}"));
+        stub.createContext("/pages", exchange ->
+                respond(exchange, NOTION_LATENCY_MS, "{\"id\":\"page-1\"}"));
+        stub.start();
+        String baseUrl = "http://127.0.0.1:" + stub.getAddress().getPort();
+
+        RestClient fastApiRestClient = RestClient.builder().baseUrl(baseUrl).build();
+
+        connectionProvider = ConnectionProvider.builder("benchmark").maxConnections(UPLOADS).build();
+        WebClient notionWebClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+
+        // NotionService.createNewPage 처럼 WebClient 호출을 block() 으로 기다림
+        NotionService notionService = mock(NotionService.class);
+        when(notionService.createNewPage(any())).thenAnswer(invocation -> notionWebClient.post()
+                .uri("/pages")
+                .bodyValue(Map.of())
+                .retrieve()
+                .bodyToMono(Map.class)
+                .map(body -> (String) body.get("id"))
+                .block());
+
+        MeetingRepository meetingRepository = mock(MeetingRepository.class);
+        when(meetingRepository.findById(any())).thenAnswer(invocation -> Optional.of(new Meeting()));
+        when(meetingRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        stageExecutor = new ThreadPoolTaskExecutor();
+        stageExecutor.setThreadFactory(Thread.ofVirtual().name("meeting-stage-", 0).factory());
+        stageExecutor.setCorePoolSize(2 * UPLOADS);
+        stageExecutor.setMaxPoolSize(2 * UPLOADS);
+        stageExecutor.initialize();
+
+        // 내용이 같은 업로드는 캐시로 합쳐지므로 벤치마크에서는 업로드마다 다른 record 를 사용
+        MeetingResultCache resultCache = new MeetingResultCache(meetingRepository, 10);
+        meetingService = new MeetingService(fastApiRestClient, meetingRepository, notionService, stageExecutor,
+                resultCache, mock(MeetingContentRepository.class));
+        meetingService.objectMapper = JsonMapper.builder().build();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        stub.stop(0);
+        connectionProvider.dispose();
+        stageExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("동시 업로드 500건: platform thread pool vs virtual thread")
+    void platformVsVirtualThreads() throws InterruptedException {
+        // 연결 / JIT 예열
+        run(Executors.newFixedThreadPool(PLATFORM_THREADS), 50);
+
+        Result platform = run(Executors.newFixedThreadPool(PLATFORM_THREADS), UPLOADS);
+        Result virtual = run(Executors.newVirtualThreadPerTaskExecutor(), UPLOADS);
+
+        // AI 와 Notion 단계는 동시에 실행되므로 업로드 1건의 최소 시간은 max(AI, Notion)
+        System.out.printf("[benchmark] uploads=%d, stub latency ai=%dms notion=%dms%n", UPLOADS, AI_LATENCY_MS, NOTION_LATENCY_MS);
+        System.out.println("[benchmark] platform(" + PLATFORM_THREADS + ") " + platform);
+        System.out.println("[benchmark] virtual        " + virtual);
+
+        assertThat(platform.failures()).isZero();
+        assertThat(virtual.failures()).isZero();
+    }
+
+    private Result run(ExecutorService executor, int uploads) throws InterruptedException {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(uploads);
+        int[] failures = new int[1];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < uploads; i++) {
+            long submitted = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    meetingService.uploadMeeting(new meetingUploadRequestDTO.beRequest(
+                            "title", "record-" + sequence.incrementAndGet(), null));
+                    latencies.add(System.nanoTime() - submitted);
+                } catch (Exception e) {
+                    synchronized (failures) {
+                        failures[0]++;
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await(2, TimeUnit.MINUTES);
+        long total = System.nanoTime() - start;
+        executor.shutdownNow();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(TimeUnit.NANOSECONDS.toMillis(total),
+                percentile(sorted, 0.50), percentile(sorted, 0.99), failures[0]);
+    }
+
+    private long percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(0, index)));
+    }
+
+    private static void respond(HttpExchange exchange, long latencyMs, String body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private record Result(long totalMs, long p50Ms, long p99Ms, int failures) {
+        @Override
+        public String toString() {
+            return "total=" + totalMs + "ms, p50=" + p50Ms + "ms, p99=" + p99Ms + "ms, failures=" + failures;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.demo.mohazo.meeting.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TranscriptChunkerTest {
+
+    @Test
+    @DisplayName("토큰 제한을 넘기 전 마지막 줄바꿈에서 구간을 나눈다.")
+    void segments_SplitAtLineBreak() {
+        // given (한 줄 = 한글 5글자 = 5 토큰)
+        TranscriptChunker chunker = new TranscriptChunker(12);
+        String transcript = "가나다라마\n바사아자차\n카타파하가\n나다라마바";
+
+        // when
+        List<String> segments = collect(chunker, transcript);
+
+        // then
+        assertThat(segments).containsExactly("가나다라마\n바사아자차", "카타파하가\n나다라마바");
+    }
+
+    @Test
+    @DisplayName("줄바꿈 없이 긴 줄은 공백에서, 공백도 없으면 글자 단위로 나누고 내용을 잃지 않는다.")
+    void segments_SplitLongLine() {
+        // given
+        TranscriptChunker chunker = new TranscriptChunker(4);
+
+        // when
+        List<String> bySpace = collect(chunker, "가나다 라마바 사아자");
+        List<String> byChar = collect(chunker, "가나다라마바사아자");
+
+        // then
+        assertThat(bySpace).containsExactly("가나다", "라마바", "사아자");
+        assertThat(byChar).allMatch(s -> TranscriptChunker.estimateTokens(s) <= 4);
+        assertThat(String.join("", byChar)).isEqualTo("가나다라마바사아자");
+    }
+
+    @Test
+    @DisplayName("영문/숫자는 4글자당 1 토큰, 한글은 글자당 1 토큰으로 추정한다.")
+    void estimateTokens() {
+        assertThat(TranscriptChunker.estimateTokens("abcdefgh ij")).isEqualTo(3);
+        assertThat(TranscriptChunker.estimateTokens("회의록 v2")).isEqualTo(4);
+        assertThat(TranscriptChunker.estimateTokens("  \n ")).isZero();
+    }
+
+    private List<String> collect(TranscriptChunker chunker, String transcript) {
+        List<String> segments = new ArrayList<>();
+        chunker.segments(new StringReader(transcript)).forEachRemaining(segments::add);
+        return segments;
+    }
+}
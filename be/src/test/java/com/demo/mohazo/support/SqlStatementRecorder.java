@@ -0,0 +1,36 @@
+package com.demo.mohazo.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hibernate 가 실행하는 SQL 을 스레드와 함께 기록한다 (application-test.yml 에서 등록).
+ * scheduler 같은 다른 스레드의 SQL 이 섞이지 않도록 테스트 스레드에서 실행된 것만 골라 본다.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final Queue<Recorded> statements = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(new Recorded(Thread.currentThread(), sql));
+        return sql;
+    }
+
+    public static void reset() {
+        statements.clear();
+    }
+
+    public static List<String> onCurrentThread() {
+        Thread current = Thread.currentThread();
+        return statements.stream()
+                .filter(recorded -> recorded.thread() == current)
+                .map(Recorded::sql)
+                .toList();
+    }
+
+    private record Recorded(Thread thread, String sql) {}
+}
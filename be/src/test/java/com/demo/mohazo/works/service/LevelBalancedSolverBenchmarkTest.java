@@ -0,0 +1,92 @@
+package com.demo.mohazo.works.service;
+
+import com.demo.mohazo.common.domain.Field;
+import com.demo.mohazo.user.entity.User;
+import com.demo.mohazo.works.entity.Works;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한 Field 의 작업 묶음을 greedy(WorkAssignmentEngine) 와 LevelBalancedSolver 로 할당해서
+ * 총 비용(level 차이 + 작업 수)과 실행 시간을 비교한다.
+ * 회의 하나에서 나오는 작업(수십 개)부터 여러 회의를 모아 할당하는 경우(수천 개)까지.
+ *
+ * 기본 test 에서는 제외되고 ./gradlew benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+class LevelBalancedSolverBenchmarkTest {
+
+    private static final int LEVEL_WEIGHT = 3;
+    private static final int LOAD_WEIGHT = 1;
+    // (유저 수, 작업 수)
+    private static final int[][] SIZES = { { 5, 20 }, { 20, 100 }, { 50, 500 }, { 100, 2_000 } };
+
+    @Test
+    @DisplayName("작업 묶음 할당: greedy vs min-cost flow")
+    void compare() {
+        for (int[] size : SIZES) {
+            List<User> users = users(size[0]);
+            List<Works> works = works(size[1]);
+            LevelBalancedSolver solver = new LevelBalancedSolver(users, List.of(), LEVEL_WEIGHT, LOAD_WEIGHT);
+
+            // JIT warm-up
+            greedy(users, works);
+            solver.solve(Field.BE, works, deadline());
+
+            long start = System.nanoTime();
+            User[] greedy = greedy(users, works);
+            long greedyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+            start = System.nanoTime();
+            User[] optimal = solver.solve(Field.BE, works, deadline());
+            long solverMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            long greedyCost = solver.cost(works, greedy);
+            long optimalCost = solver.cost(works, optimal);
+            System.out.printf("[solver] users=%d works=%d  greedy: cost=%d %dus  solver: cost=%d %dms (%.1f%%)%n",
+                    size[0], size[1], greedyCost, greedyMicros, optimalCost, solverMs,
+                    100.0 * (greedyCost - optimalCost) / greedyCost);
+
+            assertThat(optimalCost).isLessThanOrEqualTo(greedyCost);
+        }
+    }
+
+    private User[] greedy(List<User> users, List<Works> works) {
+        WorkAssignmentEngine engine = new WorkAssignmentEngine(users, List.of());
+        User[] assigned = new User[works.size()];
+        for (int i = 0; i < assigned.length; i++) {
+            assigned[i] = engine.assign(works.get(i).getField());
+        }
+        return assigned;
+    }
+
+    private long deadline() {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+    }
+
+    private List<User> users(int count) {
+        Random random = new Random(5);
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            users.add(User.builder().id(id).level(1 + random.nextInt(5)).field(Field.BE).build());
+        }
+        return users;
+    }
+
+    private List<Works> works(int count) {
+        Random random = new Random(9);
+        List<Works> works = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            works.add(Works.builder().id(id).level(1 + random.nextInt(5)).field(Field.BE).build());
+        }
+        return works;
+    }
+}
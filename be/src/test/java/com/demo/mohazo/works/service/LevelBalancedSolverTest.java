@@ -0,0 +1,91 @@
+package com.demo.mohazo.works.service;
+
+import com.demo.mohazo.common.domain.Field;
+import com.demo.mohazo.user.entity.User;
+import com.demo.mohazo.works.entity.Works;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LevelBalancedSolverTest {
+
+    private static final long NO_LIMIT = System.nanoTime() + Long.MAX_VALUE / 2;
+
+    @Test
+    @DisplayName("어려운 작업은 level 이 높은 유저에게, 쉬운 작업은 낮은 유저에게 간다.")
+    void solve_MatchesLevels() {
+        // given
+        User junior = User.builder().id(1L).level(1).field(Field.BE).build();
+        User senior = User.builder().id(2L).level(5).field(Field.BE).build();
+        List<Works> works = List.of(
+                Works.builder().id(10L).field(Field.BE).level(5).build(),
+                Works.builder().id(11L).field(Field.BE).level(1).build());
+
+        LevelBalancedSolver solver = new LevelBalancedSolver(List.of(junior, senior), List.of(), 3, 1);
+
+        // when
+        User[] assigned = solver.solve(Field.BE, works, NO_LIMIT);
+
+        // then (greedy 는 목록 순서대로 junior 에게 level 5 작업을 줌)
+        assertThat(assigned).containsExactly(senior, junior);
+        assertThat(solver.solve(Field.FE, works, NO_LIMIT)).containsOnlyNulls();
+    }
+
+    @Test
+    @DisplayName("무작위 작은 입력에서 모든 경우를 따져본 최소 비용과 같다.")
+    void solve_IsOptimal() {
+        Random random = new Random(3);
+        for (int round = 0; round < 200; round++) {
+            // given
+            List<User> users = new ArrayList<>();
+            int userCount = 1 + random.nextInt(3);
+            for (long id = 1; id <= userCount; id++) {
+                users.add(User.builder().id(id).level(1 + random.nextInt(5)).field(Field.AI).build());
+            }
+            List<Object[]> counts = new ArrayList<>();
+            counts.add(new Object[] { 1L, (long) random.nextInt(3) });
+            List<Works> works = new ArrayList<>();
+            int worksCount = 1 + random.nextInt(6);
+            for (int i = 0; i < worksCount; i++) {
+                works.add(Works.builder().field(Field.AI).level(1 + random.nextInt(5)).build());
+            }
+            LevelBalancedSolver solver = new LevelBalancedSolver(users, counts, 1 + random.nextInt(4), 1 + random.nextInt(3));
+
+            // when
+            User[] assigned = solver.solve(Field.AI, works, NO_LIMIT);
+
+            // then
+            assertThat(solver.cost(works, assigned))
+                    .isEqualTo(bruteForce(solver, works, users, new User[worksCount], 0));
+        }
+    }
+
+    @Test
+    @DisplayName("시간 예산을 넘기면 null 을 돌려준다.")
+    void solve_ReturnsNullAfterDeadline() {
+        // given
+        User user = User.builder().id(1L).level(1).field(Field.CL).build();
+        List<Works> works = List.of(Works.builder().field(Field.CL).level(1).build());
+        LevelBalancedSolver solver = new LevelBalancedSolver(List.of(user), List.of(), 3, 1);
+
+        // when & then
+        assertThat(solver.solve(Field.CL, works, System.nanoTime() - 1)).isNull();
+    }
+
+    private long bruteForce(LevelBalancedSolver solver, List<Works> works, List<User> users, User[] current, int index) {
+        if (index == current.length) {
+            return solver.cost(works, current);
+        }
+        long best = Long.MAX_VALUE;
+        for (User user : users) {
+            current[index] = user;
+            best = Math.min(best, bruteForce(solver, works, users, current, index + 1));
+        }
+        return best;
+    }
+}
@@ -0,0 +1,113 @@
+package com.demo.mohazo.works.service;
+
+import com.demo.mohazo.common.domain.Field;
+import com.demo.mohazo.user.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 작업 100,000개를 유저 수를 늘려가며(최대 10,000명) 할당해서
+ * 기존 선형 탐색 O(W × U) 와 Field 별 heap O(W log U) 를 비교한다.
+ *
+ * 기본 test 에서는 제외되고 ./gradlew benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+class WorkAssignmentBenchmarkTest {
+
+    private static final int WORKS = 100_000;
+    private static final int[] USER_COUNTS = { 100, 1_000, 10_000 };
+
+    @Test
+    @DisplayName("작업 100k 할당: 선형 탐색 vs heap")
+    void compare() {
+        for (int userCount : USER_COUNTS) {
+            List<User> users = users(userCount);
+            Field[] works = works();
+
+            // JIT warm-up
+            heap(users, works);
+            linear(users, works);
+
+            long heapMs = measure(() -> heap(users, works));
+            long linearMs = measure(() -> linear(users, works));
+            System.out.printf("[assign] works=%d users=%d  heap=%dms  linear=%dms%n",
+                    WORKS, userCount, heapMs, linearMs);
+        }
+
+        // 결과는 두 방식이 같아야 함
+        List<User> users = users(1_000);
+        Field[] works = works();
+        assertThat(heap(users, works)).containsExactly(linear(users, works));
+    }
+
+    private User[] heap(List<User> users, Field[] works) {
+        WorkAssignmentEngine engine = new WorkAssignmentEngine(users, List.of());
+        User[] assigned = new User[works.length];
+        for (int i = 0; i < works.length; i++) {
+            assigned[i] = engine.assign(works[i]);
+        }
+        return assigned;
+    }
+
+    // 기존 WorksService.assignworks 의 탐색 방식
+    private User[] linear(List<User> users, Field[] works) {
+        Map<Field, List<User>> usersByField = new HashMap<>();
+        users.forEach(user -> usersByField.computeIfAbsent(user.getField(), f -> new ArrayList<>()).add(user));
+        Map<Long, Integer> counts = new HashMap<>();
+        users.forEach(user -> counts.put(user.getId(), 0));
+
+        User[] assigned = new User[works.length];
+        for (int i = 0; i < works.length; i++) {
+            User best = null;
+            int min = Integer.MAX_VALUE;
+            for (User candidate : usersByField.getOrDefault(works[i], List.of())) {
+                int count = counts.getOrDefault(candidate.getId(), 0);
+                if (count < min) {
+                    min = count;
+                    best = candidate;
+                }
+            }
+            if (best != null) {
+                counts.put(best.getId(), min + 1);
+            }
+            assigned[i] = best;
+        }
+        return assigned;
+    }
+
+    private List<User> users(int count) {
+        Random random = new Random(7);
+        Field[] fields = Field.values();
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            users.add(User.builder().id(id).field(fields[random.nextInt(fields.length)]).build());
+        }
+        return users;
+    }
+
+    private Field[] works() {
+        Random random = new Random(11);
+        Field[] fields = Field.values();
+        Field[] works = new Field[WORKS];
+        for (int i = 0; i < WORKS; i++) {
+            works[i] = fields[random.nextInt(fields.length)];
+        }
+        return works;
+    }
+
+    private long measure(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,82 @@
+package com.demo.mohazo.works.service;
+
+import com.demo.mohazo.common.domain.Field;
+import com.demo.mohazo.user.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkAssignmentEngineTest {
+
+    @Test
+    @DisplayName("작업 수가 같으면 목록에서 앞선 유저에게 먼저 할당한다.")
+    void assign_TieBreaksByListOrder() {
+        // given
+        User user1 = User.builder().id(3L).field(Field.BE).build();
+        User user2 = User.builder().id(1L).field(Field.BE).build();
+        User user3 = User.builder().id(2L).field(Field.BE).build();
+        List<Object[]> counts = new ArrayList<>();
+        counts.add(new Object[] { 2L, 1L }); // user3 는 이미 1개
+
+        WorkAssignmentEngine engine = new WorkAssignmentEngine(List.of(user1, user2, user3), counts);
+
+        // when & then
+        assertThat(engine.assign(Field.BE)).isSameAs(user1);
+        assertThat(engine.assign(Field.BE)).isSameAs(user2);
+        assertThat(engine.assign(Field.BE)).isSameAs(user1); // 세 명 모두 1개 -> 다시 목록 순서
+        assertThat(engine.assign(Field.FE)).isNull();
+    }
+
+    @Test
+    @DisplayName("무작위 입력에서 기존 선형 탐색과 같은 유저를 고른다.")
+    void assign_MatchesLinearScan() {
+        // given
+        Random random = new Random(42);
+        Field[] fields = Field.values();
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            users.add(User.builder().id(id).field(fields[random.nextInt(fields.length)]).build());
+        }
+        List<Object[]> counts = new ArrayList<>();
+        for (long id = 1; id <= 200; id += 3) {
+            counts.add(new Object[] { id, (long) random.nextInt(5) });
+        }
+
+        WorkAssignmentEngine engine = new WorkAssignmentEngine(users, counts);
+        Map<Long, Integer> linearCounts = new HashMap<>();
+        counts.forEach(row -> linearCounts.put((Long) row[0], ((Long) row[1]).intValue()));
+
+        // when & then
+        for (int i = 0; i < 5_000; i++) {
+            Field field = fields[random.nextInt(fields.length)];
+            assertThat(engine.assign(field)).isSameAs(linearScan(users, linearCounts, field));
+        }
+    }
+
+    // 기존 WorksService 의 탐색 방식 (앞에서부터 더 적은 유저)
+    private User linearScan(List<User> users, Map<Long, Integer> counts, Field field) {
+        User best = null;
+        int min = Integer.MAX_VALUE;
+        for (User user : users) {
+            if (user.getField() != field) {
+                continue;
+            }
+            int count = counts.getOrDefault(user.getId(), 0);
+            if (count < min) {
+                min = count;
+                best = user;
+            }
+        }
+        if (best != null) {
+            counts.put(best.getId(), min + 1);
+        }
+        return best;
+    }
+}
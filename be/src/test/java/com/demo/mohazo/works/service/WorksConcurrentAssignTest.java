@@ -0,0 +1,144 @@
+package com.demo.mohazo.works.service;
+
+import com.demo.mohazo.common.domain.Field;
+import com.demo.mohazo.user.entity.User;
+import com.demo.mohazo.user.repository.UserRepository;
+import com.demo.mohazo.works.dto.WorksAssignStreamResponseDto;
+import com.demo.mohazo.works.entity.Works;
+import com.demo.mohazo.works.repository.WorksRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 노드가 동시에 할당하는 상황을 스레드로 흉내 낸다 (chunk 할당 3개 + 전체 할당 1개).
+ * 작업이 두 번 할당되거나 덮어써지지 않고, 유저별 작업 수가 어긋나지 않는지 확인한다.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class WorksConcurrentAssignTest {
+
+    private static final int WORKS = 600;
+    private static final int STREAM_WORKERS = 3;
+    private static final int ASSIGN_WORKERS = 2;
+
+    @Autowired
+    private WorksService worksService;
+
+    @Autowired
+    private WorksRepository worksRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 4; i++) {
+            users.add(userRepository.save(User.builder().name("be" + i).level(1).field(Field.BE).build()));
+        }
+        for (int i = 0; i < 2; i++) {
+            users.add(userRepository.save(User.builder().name("fe" + i).level(1).field(Field.FE).build()));
+        }
+
+        Random random = new Random(1);
+        List<Works> works = new ArrayList<>();
+        for (int i = 0; i < WORKS; i++) {
+            Field field = random.nextBoolean() ? Field.BE : Field.FE;
+            works.add(Works.builder().field(field).title("work" + i).worksOrder(i).level(1).build());
+        }
+        worksRepository.saveAll(works);
+
+        // worker 들이 여러 chunk / batch 를 번갈아 claim 하도록 작게
+        setBatchSizes(20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        setBatchSizes(1000);
+        worksRepository.deleteAll();
+        userRepository.deleteAll();
+        users.clear();
+    }
+
+    @Test
+    @DisplayName("동시에 할당해도 작업은 한 번씩만 할당되고, 유저별 작업 수는 고르게 유지된다.")
+    void concurrentAssign_NoDoubleAssignment() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(STREAM_WORKERS + ASSIGN_WORKERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        for (int i = 0; i < STREAM_WORKERS; i++) {
+            results.add(executor.submit(awaitThen(start, () -> {
+                WorksAssignStreamResponseDto result = worksService.assignworksStreaming();
+                return result.getAssigned();
+            })));
+        }
+        for (int i = 0; i < ASSIGN_WORKERS; i++) {
+            results.add(executor.submit(awaitThen(start, () ->
+                    worksService.assignworks().stream().filter(work -> work.getAssignee() != null).count())));
+        }
+
+        // when
+        start.countDown();
+        long assigned = 0;
+        for (Future<Long> result : results) {
+            assigned += result.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        // 각 요청이 할당했다고 보고한 수의 합 = 전체 작업 수 (겹쳐서 할당했다면 더 커짐)
+        assertThat(assigned).isEqualTo(WORKS);
+        assertThat(worksRepository.findByAssigneeIsNull()).isEmpty();
+        assertThat(worksRepository.findAll()).allMatch(work -> work.getClaimedBy() == null);
+
+        Map<Long, Long> counts = new HashMap<>();
+        worksRepository.countWorksPerAssignee().forEach(row -> counts.put((Long) row[0], (Long) row[1]));
+        Map<Field, List<Long>> loadsByField = new HashMap<>();
+        for (User user : users) {
+            User saved = userRepository.findById(user.getId()).orElseThrow();
+            long count = counts.getOrDefault(user.getId(), 0L);
+            assertThat(saved.getAssignedWorks().longValue()).isEqualTo(count);
+            loadsByField.computeIfAbsent(user.getField(), f -> new ArrayList<>()).add(count);
+        }
+        // 유저 행을 잠그고 최신 작업 수로 고르므로 같은 Field 안에서 차이는 1 이하
+        loadsByField.values().forEach(loads ->
+                assertThat(loads.stream().mapToLong(Long::longValue).max().orElseThrow()
+                        - loads.stream().mapToLong(Long::longValue).min().orElseThrow()).isLessThanOrEqualTo(1));
+    }
+
+    private static <T> Callable<T> awaitThen(CountDownLatch start, Callable<T> task) {
+        return () -> {
+            start.await();
+            return task.call();
+        };
+    }
+
+    private void setBatchSizes(int size) {
+        WorksService target = AopTestUtils.getUltimateTargetObject(worksService);
+        ReflectionTestUtils.setField(target, "streamChunkSize", size);
+        ReflectionTestUtils.setField(target, "assignBatchSize", size);
+    }
+}
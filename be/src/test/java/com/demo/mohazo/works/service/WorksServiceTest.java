@@ -5,18 +5,26 @@ import com.demo.mohazo.user.entity.User;
 import com.demo.mohazo.user.repository.UserRepository;
 import com.demo.mohazo.works.entity.Works;
 import com.demo.mohazo.works.repository.WorksRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,9 +36,29 @@ class WorksServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private WorksService worksService;
 
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(worksService, "assignBatchSize", 1000);
+        // batch 트랜잭션은 바로 실행
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(worksRepository.claim(anyList(), anyString(), any(), any())).willAnswer(invocation ->
+                invocation.<List<Long>>getArgument(0).size());
+    }
+
+    // 미할당 작업 id 를 한 batch 로 돌려주고 그다음은 비어 있음
+    private void givenClaimableIds(Long... ids) {
+        given(worksRepository.findClaimableIds(anyLong(), any(), any()))
+                .willReturn(List.of(ids))
+                .willReturn(List.of());
+    }
+
     @Test
     @DisplayName("작업이 없는 상태에서 모든 유저에게 균등하게 할당된다.")
     void assignWorks_Equally_When_No_Prior_Assignment() {
@@ -38,18 +66,20 @@ class WorksServiceTest {
         // 유저 2명 (BE)
         User user1 = User.builder().id(1L).name("User1").field(Field.BE).build();
         User user2 = User.builder().id(2L).name("User2").field(Field.BE).build();
-        given(userRepository.findAll()).willReturn(List.of(user1, user2));
+        given(userRepository.findAllById(List.of(1L, 2L))).willReturn(List.of(user1, user2));
 
         // 작업 2개 (BE)
         Works work1 = Works.builder().id(101L).title("API Dev").field(Field.BE).build();
         Works work2 = Works.builder().id(102L).title("DB Design").field(Field.BE).build();
-        given(worksRepository.findByAssigneeIsNull()).willReturn(List.of(work1, work2));
+        givenClaimableIds(101L, 102L);
+        given(worksRepository.findByClaimedByOrderById(anyString())).willReturn(List.of(work1, work2));
 
-        // 현재 할당량 0
-        given(worksRepository.countWorksPerAssignee()).willReturn(new ArrayList<>());
+        // 현재 할당량 0 (잠근 유저 행: id, field, assigned_works)
+        given(userRepository.lockLoadsByFieldIn(List.of("BE")))
+                .willReturn(List.of(new Object[] { 1L, "BE", 0 }, new Object[] { 2L, "BE", 0 }));
 
-        // saveAll Mocking (그대로 반환)
-        given(worksRepository.saveAll(List.of(work1, work2))).willReturn(List.of(work1, work2));
+        // claim 한 작업만 유저별 UPDATE 로 저장됨
+        given(worksRepository.assignClaimed(anyLong(), anyList(), anyString())).willReturn(1);
 
         // when
         List<Works> result = worksService.assignworks();
@@ -64,6 +94,10 @@ class WorksServiceTest {
         // 주의: 알고리즘상 ID 순서나 리스트 순서에 따라 달라질 수 있지만,
         // 0 vs 0 에서 하나 할당 -> 1 vs 0 -> 다음은 0인 사람에게 할당되어야 정상.
         assertThat(result.stream().map(w -> w.getAssignee().getId()).distinct().count()).isEqualTo(2);
+
+        // claim 한 작업의 Field 유저만 잠그고, 작업 수는 잠근 행에서 읽음
+        verify(userRepository).lockLoadsByFieldIn(List.of("BE"));
+        verify(worksRepository, never()).countWorksPerAssignee();
     }
 
     @Test
@@ -73,21 +107,19 @@ class WorksServiceTest {
         // 유저 2명 (BE)
         User user1 = User.builder().id(1L).name("BusyUser").field(Field.BE).build();
         User user2 = User.builder().id(2L).name("FreeUser").field(Field.BE).build();
-        given(userRepository.findAll()).willReturn(List.of(user1, user2));
+        given(userRepository.findAllById(List.of(1L, 2L))).willReturn(List.of(user1, user2));
 
         // 작업 1개 (BE)
         Works work1 = Works.builder().id(201L).title("New Task").field(Field.BE).build();
-        given(worksRepository.findByAssigneeIsNull()).willReturn(List.of(work1));
+        givenClaimableIds(201L);
+        given(worksRepository.findByClaimedByOrderById(anyString())).willReturn(List.of(work1));
 
         // 현재 할당량: User1은 5개, User2는 0개
-        // DB 리턴값: Object[] {userId, count}
-        Object[] countRow = new Object[] { 1L, 5L };
-        List<Object[]> countList = new ArrayList<>();
-        countList.add(countRow);
-
-        given(worksRepository.countWorksPerAssignee()).willReturn(countList);
+        // DB 리턴값: Object[] {userId, field, assigned_works}
+        given(userRepository.lockLoadsByFieldIn(List.of("BE")))
+                .willReturn(List.of(new Object[] { 1L, "BE", 5 }, new Object[] { 2L, "BE", 0 }));
 
-        given(worksRepository.saveAll(List.of(work1))).willReturn(List.of(work1));
+        given(worksRepository.assignClaimed(anyLong(), anyList(), anyString())).willReturn(1);
 
         // when
         List<Works> result = worksService.assignworks();
@@ -96,4 +128,26 @@ class WorksServiceTest {
         // User1은 바쁘니까 User2에게 할당되어야 함
         assertThat(result.get(0).getAssignee().getId()).isEqualTo(user2.getId());
     }
+
+    @Test
+    @DisplayName("작업 수가 같으면 조회 순서와 상관없이 id 가 작은 유저에게 먼저 할당된다.")
+    void assignWorks_TieBreaksByUserId() {
+        // given (findAllById 가 id 역순으로 돌려줌)
+        User user1 = User.builder().id(1L).name("User1").field(Field.BE).build();
+        User user2 = User.builder().id(2L).name("User2").field(Field.BE).build();
+        given(userRepository.findAllById(List.of(1L, 2L))).willReturn(List.of(user2, user1));
+
+        Works work1 = Works.builder().id(301L).title("Task").field(Field.BE).build();
+        givenClaimableIds(301L);
+        given(worksRepository.findByClaimedByOrderById(anyString())).willReturn(List.of(work1));
+        given(userRepository.lockLoadsByFieldIn(List.of("BE")))
+                .willReturn(List.of(new Object[] { 1L, "BE", 0 }, new Object[] { 2L, "BE", 0 }));
+        given(worksRepository.assignClaimed(anyLong(), anyList(), anyString())).willReturn(1);
+
+        // when
+        List<Works> result = worksService.assignworks();
+
+        // then
+        assertThat(result.get(0).getAssignee().getId()).isEqualTo(1L);
+    }
 }
@@ -0,0 +1,103 @@
+package com.demo.mohazo.works.service;
+
+import com.demo.mohazo.common.domain.Field;
+import com.demo.mohazo.user.entity.User;
+import com.demo.mohazo.user.repository.UserRepository;
+import com.demo.mohazo.works.dto.WorksAssignStreamResponseDto;
+import com.demo.mohazo.works.repository.WorksRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 미할당 작업 1,000,000개를 POST /api/work/assign/stream 경로(assignworksStreaming)로 할당한다.
+ * chunk 1000개씩 claim / 할당 / 커밋하므로 작업 수가 늘어도 heap 사용량이 일정한지, 전체 시간이 얼마인지 본다.
+ * 작업 수는 -Dbenchmark.works 로 바꿀 수 있다 (in-memory H2 기준).
+ *
+ * 기본 test 에서는 제외되고 ./gradlew benchmark 로 실행한다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class WorksStreamingAssignBenchmarkTest {
+
+    private static final int WORKS = Integer.getInteger("benchmark.works", 1_000_000);
+    private static final int USERS = 200;
+    private static final int INSERT_BATCH = 10_000;
+
+    @Autowired
+    private WorksService worksService;
+
+    @Autowired
+    private WorksRepository worksRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM works");
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("작업 1M streaming 할당")
+    void assignMillionWorks() {
+        // given
+        Field[] fields = Field.values();
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder().name("u" + i).level(1 + i % 3).field(fields[i % fields.length]).build());
+        }
+        userRepository.saveAll(users);
+        insertWorks(fields);
+
+        // when
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long start = System.nanoTime();
+        WorksAssignStreamResponseDto result = worksService.assignworksStreaming();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        System.out.printf("[assign-stream] works=%d users=%d chunks=%d  %dms (%.0f works/s)  heap %dMB -> %dMB%n",
+                WORKS, USERS, result.getChunks(), elapsedMs, WORKS * 1000.0 / Math.max(1, elapsedMs),
+                heapBefore >> 20, heapAfter >> 20);
+
+        // then
+        assertThat(result.getAssigned()).isEqualTo(WORKS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM works WHERE assignee IS NULL", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(assigned_works) FROM user", Long.class)).isEqualTo(WORKS);
+    }
+
+    // JPA 로 넣으면 준비가 측정보다 오래 걸리므로 JDBC batch insert
+    private void insertWorks(Field[] fields) {
+        Random random = new Random(13);
+        long start = System.nanoTime();
+        for (int from = 0; from < WORKS; from += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (int i = from; i < Math.min(from + INSERT_BATCH, WORKS); i++) {
+                rows.add(new Object[] { fields[random.nextInt(fields.length)].name(), "work" + i, i, 1 + random.nextInt(3) });
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO works (field, title, works_order, level) VALUES (?, ?, ?, ?)", rows);
+        }
+        System.out.printf("[assign-stream] inserted %d works in %dms%n",
+                worksRepository.count(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,104 @@
+package com.demo.mohazo.works.service;
+
+import com.demo.mohazo.common.domain.Field;
+import com.demo.mohazo.support.SqlStatementRecorder;
+import com.demo.mohazo.user.entity.User;
+import com.demo.mohazo.user.repository.UserRepository;
+import com.demo.mohazo.works.dto.WorksAssignStreamResponseDto;
+import com.demo.mohazo.works.entity.Works;
+import com.demo.mohazo.works.repository.WorksRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class WorksStreamingAssignTest {
+
+    @Autowired
+    private WorksService worksService;
+
+    @Autowired
+    private WorksRepository worksRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User be1;
+    private User be2;
+    private User fe;
+
+    @BeforeEach
+    void setUp() {
+        be1 = userRepository.save(User.builder().name("be1").level(1).field(Field.BE).build());
+        be2 = userRepository.save(User.builder().name("be2").level(2).field(Field.BE).build());
+        fe = userRepository.save(User.builder().name("fe").level(1).field(Field.FE).build());
+
+        // BE 7개, FE 2개, AI 1개 (AI 유저 없음)
+        Field[] fields = { Field.BE, Field.FE, Field.BE, Field.BE, Field.AI, Field.BE, Field.BE, Field.FE, Field.BE, Field.BE };
+        List<Works> works = new ArrayList<>();
+        for (int i = 0; i < fields.length; i++) {
+            works.add(Works.builder().field(fields[i]).title("work" + i).worksOrder(i).level(1).build());
+        }
+        worksRepository.saveAll(works);
+
+        // chunk 2개로 나뉘도록 작게
+        setStreamChunkSize(5);
+        SqlStatementRecorder.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        setStreamChunkSize(1000);
+        worksRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("chunk 단위로 균등 할당하고, 유저별로 묶은 UPDATE ... IN 으로 저장한다.")
+    void assignworksStreaming_BulkUpdatesPerChunk() {
+        // when
+        WorksAssignStreamResponseDto result = worksService.assignworksStreaming();
+        List<String> sql = SqlStatementRecorder.onCurrentThread().stream().map(String::toLowerCase).toList();
+
+        // then
+        assertThat(result.getAssigned()).isEqualTo(9);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(result.getChunks()).isEqualTo(2);
+
+        Map<Long, Long> counts = new HashMap<>();
+        worksRepository.countWorksPerAssignee().forEach(row -> counts.put((Long) row[0], (Long) row[1]));
+        assertThat(counts).containsEntry(be1.getId(), 4L).containsEntry(be2.getId(), 3L).containsEntry(fe.getId(), 2L);
+        assertThat(worksRepository.findByAssigneeIsNull()).extracting(Works::getField).containsExactly(Field.AI);
+        // 유저 행의 작업 수도 함께 올라감
+        assertThat(userRepository.findById(be1.getId()).orElseThrow().getAssignedWorks()).isEqualTo(4);
+        assertThat(userRepository.findById(be2.getId()).orElseThrow().getAssignedWorks()).isEqualTo(3);
+        assertThat(userRepository.findById(fe.getId()).orElseThrow().getAssignedWorks()).isEqualTo(2);
+
+        // 작업 한 건씩 UPDATE 하지 않고 chunk 마다 유저별로 한 번 (be1, be2, fe × 2 chunk), 엔티티 전체 컬럼도 읽지 않음
+        assertThat(sql).filteredOn(statement -> statement.startsWith("update works set assignee"))
+                .hasSize(6)
+                .allMatch(statement -> statement.contains(" in ("));
+        assertThat(sql).filteredOn(statement -> statement.contains("from works"))
+                .isNotEmpty()
+                .noneMatch(statement -> statement.contains("title"));
+    }
+
+    private void setStreamChunkSize(int chunkSize) {
+        WorksService target = AopTestUtils.getUltimateTargetObject(worksService);
+        ReflectionTestUtils.setField(target, "streamChunkSize", chunkSize);
+    }
+}